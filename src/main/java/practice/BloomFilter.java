@@ -0,0 +1,137 @@
+package practice;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/*
+ * 고정 크기 비트 배열로 "들어 있는지" 를 판단한다. 거짓 음성은 없고, 거짓 양성 확률은
+ * expectedInsertions 개를 넣었을 때 약 falsePositiveRate 이다. (원소당 -ln(p) / ln(2)^2 비트, p = 1% 이면 9.6비트)
+ * 비트 수와 해시 개수가 같으면 OR 로 합칠 수 있다.
+ */
+public final class BloomFilter {
+    private static final byte FORMAT_VERSION = 2;
+    // 해시 개수를 1바이트로 쓰던 형식 (255개까지). 읽기만 한다
+    private static final byte BYTE_HASHES_VERSION = 1;
+
+    private final long[] words;
+    private final long numBits;
+    private final int numHashes;
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+        this.words = new long[(int) ((numBits + 63) >>> 6)];
+    }
+
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+
+        double ln2 = Math.log(2);
+        long numBits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        if (numBits > (long) Integer.MAX_VALUE * 64) throw new IllegalArgumentException("bloom filter too large: " + numBits + " bits");
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public long bitSize() {
+        return numBits;
+    }
+
+    public int hashCount() {
+        return numHashes;
+    }
+
+    public void put(CharSequence value) {
+        putHash(Sketches.hash64(value));
+    }
+
+    public boolean mightContain(CharSequence value) {
+        return mightContainHash(Sketches.hash64(value));
+    }
+
+    // 64비트 해시 하나에서 h1 + i * h2 로 k 개의 위치를 만든다 (Kirsch-Mitzenmacher)
+    public void putHash(long hash) {
+        long combined = hash;
+        long step = Sketches.mix64(hash) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % numBits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+            combined += step;
+        }
+    }
+
+    public boolean mightContainHash(long hash) {
+        long combined = hash;
+        long step = Sketches.mix64(hash) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % numBits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+            combined += step;
+        }
+        return true;
+    }
+
+    public BloomFilter merge(BloomFilter other) {
+        if (other.numBits != numBits || other.numHashes != numHashes) {
+            throw new IllegalArgumentException("cannot merge bloom filters with different sizes");
+        }
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other.words[i];
+        }
+        return this;
+    }
+
+    // 현재 채워진 비트 비율로 계산한 거짓 양성 확률
+    public double expectedFalsePositiveRate() {
+        long setBits = 0;
+        for (long word : words) {
+            setBits += Long.bitCount(word);
+        }
+        return Math.pow((double) setBits / numBits, numHashes);
+    }
+
+    // [version][hashes(int)][bits(long)][words...]
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 8 + words.length * 8);
+        buffer.put(FORMAT_VERSION).putInt(numHashes).putLong(numBits);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes) {
+        if (bytes.length < 1 || (bytes[0] != FORMAT_VERSION && bytes[0] != BYTE_HASHES_VERSION)) {
+            throw new IllegalArgumentException("unsupported BloomFilter format");
+        }
+        int headerLength = bytes[0] == FORMAT_VERSION ? 1 + 4 + 8 : 1 + 1 + 8;
+        if (bytes.length < headerLength) throw new IllegalArgumentException("corrupt BloomFilter data");
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int numHashes = buffer.get() == FORMAT_VERSION ? buffer.getInt() : buffer.get() & 0xff;
+        long numBits = buffer.getLong();
+        if (numHashes < 1 || numBits < 1 || numBits > (long) Integer.MAX_VALUE * 64
+                || bytes.length != headerLength + ((numBits + 63) >>> 6) * 8) {
+            throw new IllegalArgumentException("corrupt BloomFilter data");
+        }
+
+        BloomFilter filter = new BloomFilter(numBits, numHashes);
+        for (int i = 0; i < filter.words.length; i++) {
+            filter.words[i] = buffer.getLong();
+        }
+        return filter;
+    }
+
+    public static <T> Collector<T, BloomFilter, BloomFilter> collector(Function<? super T, ? extends CharSequence> key,
+                                                                       long expectedInsertions, double falsePositiveRate) {
+        return Collector.of(
+                () -> create(expectedInsertions, falsePositiveRate),
+                (filter, value) -> filter.put(key.apply(value)),
+                BloomFilter::merge,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
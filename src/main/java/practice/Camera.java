@@ -6,21 +6,49 @@ import java.util.function.Function;
 
 public class Camera {
     private Function<Color, Color> filter;
+    private ColorMemo memo;
+    private int memoEntries;
 
     public Camera() {
         setFilters(List.of());
     }
 
     public Color capture(final Color inputColor) {
+        final ColorMemo memo = this.memo;
+        if (memo != null) return memo.apply(inputColor);
+
         final Color processedColor = filter.apply(inputColor);
 
         return processedColor;
     }
 
+    public int captureRgb(final int argb) {
+        final ColorMemo memo = this.memo;
+        if (memo != null) return memo.applyAsInt(argb);
+
+        return filter.apply(new Color(argb, true)).getRGB();
+    }
+
     public void setFilters(List<Function<Color, Color>> filters) {
         filter = filters.stream()
                 .reduce((filter, next) -> filter.compose(next))
                 .orElse(color -> color);
+        if (memo != null) memo = new ColorMemo(filter, memoEntries);
+    }
+
+    // 같은 색이 반복되는 이미지용: 합성된 필터 결과를 RGB 별로 최대 maxEntries 개까지 기억한다
+    public void enableMemo(int maxEntries) {
+        memo = new ColorMemo(filter, maxEntries);
+        memoEntries = maxEntries;
+    }
+
+    public void disableMemo() {
+        memo = null;
+    }
+
+    public ColorMemo.Stats memoStats() {
+        final ColorMemo memo = this.memo;
+        return memo == null ? null : memo.stats();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package practice;
+
+import java.util.SplittableRandom;
+
+@FunctionalInterface
+public interface CartSizeDistribution {
+    int next(SplittableRandom random);
+
+    static CartSizeDistribution fixed(int size) {
+        if (size < 1) throw new IllegalArgumentException("cart size must be positive: " + size);
+        return random -> size;
+    }
+
+    static CartSizeDistribution uniform(int min, int max) {
+        if (min < 1 || max < min) throw new IllegalArgumentException("invalid cart size range: " + min + "-" + max);
+        return random -> random.nextInt(min, max + 1);
+    }
+
+    // 평균이 mean 인 기하분포 (작은 장바구니가 대부분, 가끔 큰 장바구니)
+    static CartSizeDistribution geometric(double mean) {
+        if (mean < 1) throw new IllegalArgumentException("mean cart size must be >= 1: " + mean);
+        double p = 1.0 / mean;
+        return random -> {
+            if (p >= 1.0) return 1;
+            double u = 1.0 - random.nextDouble();
+            return 1 + (int) (Math.log(u) / Math.log(1.0 - p));
+        };
+    }
+
+    // "fixed:5", "uniform:1-20", "geometric:8"
+    static CartSizeDistribution parse(String spec) {
+        String[] parts = spec.split(":", 2);
+        if (parts.length != 2) throw new IllegalArgumentException("unknown cart distribution: " + spec);
+
+        switch (parts[0]) {
+            case "fixed":
+                return fixed(Integer.parseInt(parts[1]));
+            case "uniform":
+                String[] range = parts[1].split("-", 2);
+                if (range.length != 2) throw new IllegalArgumentException("uniform needs min-max: " + spec);
+                return uniform(Integer.parseInt(range[0]), Integer.parseInt(range[1]));
+            case "geometric":
+                return geometric(Double.parseDouble(parts[1]));
+            default:
+                throw new IllegalArgumentException("unknown cart distribution: " + spec);
+        }
+    }
+}
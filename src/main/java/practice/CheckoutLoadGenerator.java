@@ -0,0 +1,259 @@
+package practice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/*
+ * closed-loop 부하 생성기: 각 클라이언트는 이전 요청이 끝나야 다음 장바구니를 계산한다.
+ * ./gradlew checkoutLoad -PloadArgs="--clients=64 --threads=virtual --cart=geometric:8 --duration=30s --out=build/load.csv"
+ */
+public class CheckoutLoadGenerator {
+
+    public enum ThreadMode { PLATFORM, VIRTUAL }
+
+    public record Config(int clients, ThreadMode threadMode, String cartSpec,
+                         Duration warmup, Duration duration, Path output, String label) {
+
+        public Config {
+            if (clients < 1) throw new IllegalArgumentException("clients must be positive: " + clients);
+            if (duration.isZero() || duration.isNegative()) throw new IllegalArgumentException("duration must be positive: " + duration);
+            if (warmup.isNegative()) throw new IllegalArgumentException("warmup must not be negative: " + warmup);
+            CartSizeDistribution.parse(cartSpec);
+        }
+
+        public static Config defaults() {
+            return new Config(Runtime.getRuntime().availableProcessors(), ThreadMode.PLATFORM, "uniform:1-20",
+                    Duration.ofSeconds(5), Duration.ofSeconds(20), null, "local");
+        }
+
+        // --clients=16 --threads=virtual --cart=uniform:1-20 --warmup=5s --duration=20s --out=load.csv --label=v1
+        public static Config parse(String... args) {
+            Config config = defaults();
+            int clients = config.clients();
+            ThreadMode threadMode = config.threadMode();
+            String cartSpec = config.cartSpec();
+            Duration warmup = config.warmup();
+            Duration duration = config.duration();
+            Path output = config.output();
+            String label = config.label();
+
+            for (String arg : args) {
+                if (arg.isBlank()) continue;
+                String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+                if (kv.length != 2) throw new IllegalArgumentException("expected --key=value: " + arg);
+                switch (kv[0]) {
+                    case "clients" -> clients = Integer.parseInt(kv[1]);
+                    case "threads" -> threadMode = ThreadMode.valueOf(kv[1].toUpperCase(Locale.ROOT));
+                    case "cart" -> cartSpec = kv[1];
+                    case "warmup" -> warmup = parseDuration(kv[1]);
+                    case "duration" -> duration = parseDuration(kv[1]);
+                    case "out" -> output = Path.of(kv[1]);
+                    case "label" -> label = kv[1];
+                    default -> throw new IllegalArgumentException("unknown option: " + arg);
+                }
+            }
+            return new Config(clients, threadMode, cartSpec, warmup, duration, output, label);
+        }
+
+        private static Duration parseDuration(String value) {
+            if (value.endsWith("ms")) return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            if (value.endsWith("s")) return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+    }
+
+    public record Result(Config config, long operations, long measuredNanos,
+                         long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+        public double throughput() {
+            return operations / (measuredNanos / 1_000_000_000.0);
+        }
+
+        static final String CSV_HEADER = "label,timestamp,clients,threads,cart,operations,seconds,throughput,p50_us,p99_us,p999_us,max_us";
+
+        String toCsv() {
+            return String.join(",", config.label(), Instant.now().toString(), String.valueOf(config.clients()),
+                    config.threadMode().name().toLowerCase(Locale.ROOT), config.cartSpec(), String.valueOf(operations),
+                    format(measuredNanos / 1_000_000_000.0), format(throughput()),
+                    micros(p50Nanos), micros(p99Nanos), micros(p999Nanos), micros(maxNanos));
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "[%s] clients=%d threads=%s cart=%s ops=%d throughput=%.1f ops/s p50=%sus p99=%sus p99.9=%sus max=%sus",
+                    config.label(), config.clients(), config.threadMode().name().toLowerCase(Locale.ROOT), config.cartSpec(),
+                    operations, throughput(), micros(p50Nanos), micros(p99Nanos), micros(p999Nanos), micros(maxNanos));
+        }
+
+        private static String micros(long nanos) {
+            return format(nanos / 1_000.0);
+        }
+
+        private static String format(double value) {
+            return String.format(Locale.ROOT, "%.3f", value);
+        }
+    }
+
+    static final List<PurchaseItem> CATALOG = List.of(
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("serial", BigDecimal.valueOf(2500)),
+            new PurchaseItem("hamburger", BigDecimal.valueOf(1530)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("coffee", BigDecimal.valueOf(4100)),
+            new PurchaseItem("juice", BigDecimal.valueOf(2800)),
+            new PurchaseItem("salad", BigDecimal.valueOf(6900))
+    );
+
+    private static final String[] ITEM_NAMES = CATALOG.stream().map(PurchaseItem::getItem).toArray(String[]::new);
+
+    private static final Function<PurchaseItem, PurchaseItem> MEMBER_DISCOUNT = DiscountFilter.discount(BigDecimal.valueOf(0.1));
+    private static final Function<PurchaseItem, PurchaseItem> VIP_DISCOUNT = DiscountFilter.discount(BigDecimal.valueOf(0.05));
+
+    private static volatile long sink;
+
+    public static void main(String[] args) {
+        Config config = Config.parse(args);
+        Result result = run(config);
+        System.out.println(result);
+
+        if (config.output() != null) {
+            export(result, config.output());
+            System.out.println("exported to " + config.output().toAbsolutePath());
+        }
+    }
+
+    // DecoratorTest 와 같은 경로: 아이템 선택 -> 등급별 할인 합성 -> 합계
+    static BigDecimal checkout(String[] cart, boolean isMember, boolean isVip) {
+        List<Function<PurchaseItem, PurchaseItem>> funcs = new ArrayList<>();
+        if (isMember) funcs.add(MEMBER_DISCOUNT);
+        if (isVip) funcs.add(VIP_DISCOUNT);
+
+        Function<PurchaseItem, PurchaseItem> totalDiscount = DiscountFilter.totalDiscount(funcs);
+
+        return Arrays.stream(cart)
+                .map(name -> CATALOG.stream().filter(PurchaseItemUtil.itemSelector(name)).findFirst().orElseThrow())
+                .map(totalDiscount)
+                .map(PurchaseItem::getValue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public static Result run(Config config) {
+        CartSizeDistribution cartSize = CartSizeDistribution.parse(config.cartSpec());
+        SplittableRandom seed = new SplittableRandom();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long warmupNanos = config.warmup().toNanos();
+        long durationNanos = config.duration().toNanos();
+        long[] startTime = new long[1];
+
+        // 히스토그램은 클라이언트마다 두지 않고 CPU 수만큼 나눠서 같이 쓴다 (가상 스레드 수만 개여도 메모리가 고정)
+        LatencyRecorder[] stripes = new LatencyRecorder[Math.min(config.clients(), Runtime.getRuntime().availableProcessors())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LatencyRecorder();
+        }
+
+        List<Callable<Long>> clients = new ArrayList<>();
+        for (int i = 0; i < config.clients(); i++) {
+            SplittableRandom random = seed.split();
+            LatencyRecorder recorder = stripes[i % stripes.length];
+            clients.add(() -> {
+                long checksum = 0;
+                start.await();
+                long measureFrom = startTime[0] + warmupNanos;
+                long end = measureFrom + durationNanos;
+
+                while (System.nanoTime() < end) {
+                    String[] cart = nextCart(random, cartSize);
+                    int tier = random.nextInt(3);
+
+                    long begin = System.nanoTime();
+                    BigDecimal total = checkout(cart, tier >= 1, tier == 2);
+                    long finish = System.nanoTime();
+
+                    if (begin >= measureFrom && finish <= end) recorder.record(finish - begin);
+                    checksum += total.hashCode();
+                }
+                return checksum;
+            });
+        }
+
+        ExecutorService executor = newExecutor(config.threadMode(), config.clients());
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (Callable<Long> client : clients) {
+                futures.add(executor.submit(client));
+            }
+            startTime[0] = System.nanoTime();
+            start.countDown();
+
+            for (Future<Long> future : futures) {
+                sink += future.get();
+            }
+            LatencyRecorder all = new LatencyRecorder();
+            for (LatencyRecorder stripe : stripes) {
+                all.addAll(stripe);
+            }
+            return new Result(config, all.count(), durationNanos,
+                    all.percentile(50), all.percentile(99), all.percentile(99.9), all.max());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("load run interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("client failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static void export(Result result, Path output) {
+        try {
+            if (output.getParent() != null) Files.createDirectories(output.getParent());
+            List<String> lines = new ArrayList<>();
+            if (!Files.exists(output) || Files.size(output) == 0) lines.add(Result.CSV_HEADER);
+            lines.add(result.toCsv());
+            Files.write(output, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String[] nextCart(SplittableRandom random, CartSizeDistribution cartSize) {
+        String[] cart = new String[cartSize.next(random)];
+        for (int i = 0; i < cart.length; i++) {
+            cart[i] = ITEM_NAMES[random.nextInt(ITEM_NAMES.length)];
+        }
+        return cart;
+    }
+
+    private static ExecutorService newExecutor(ThreadMode threadMode, int clients) {
+        if (threadMode == ThreadMode.PLATFORM) return Executors.newFixedThreadPool(clients);
+
+        // 가상 스레드는 JDK 21+ 에서만 사용 가능하므로 리플렉션으로 찾는다
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual threads require JDK 21+, running " + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package practice;
+
+import java.awt.Color;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Function;
+
+/*
+ * 합성된 필터 결과를 RGB -> RGB 로 기억하는 open addressing 캐시.
+ * 슬롯 하나는 long 하나 (사용 비트 | rgb 24비트 | 결과 argb 32비트) 라서 동시에 capture 해도 반쯤 쓰인 값이 보이지 않는다.
+ * 조회는 잠그지 않고 슬롯을 한 번만 읽어서 키와 결과를 같은 값에서 꺼낸다. 저장(miss)만 잠근다.
+ * 탐색은 PROBE_WINDOW 칸 안에서만 하고, 칸이 다 차 있거나 maxEntries 개를 이미 기억하고 있으면 그 안의 한 칸을 덮어쓴다.
+ * 테이블은 maxEntries 이상인 2의 거듭제곱 크기지만 기억하는 색은 maxEntries 개를 넘지 않는다.
+ * 불투명(alpha 255) 색만 캐시하고, 나머지는 필터를 그대로 적용한다.
+ */
+public final class ColorMemo {
+    private static final int PROBE_WINDOW = 8;
+    private static final long USED = 1L << 56;
+    private static final long MISS = -1L;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    public record Stats(long hits, long misses, long evictions, long bypassed, int size, int capacity) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+
+    private final Function<Color, Color> filter;
+    private final long[] slots;
+    private final Color[] colors;
+    private final int mask;
+    private final int maxEntries;
+
+    // hits/misses/bypassed 는 동시에 capture 하면 근사치가 된다
+    private long hits;
+    private long misses;
+    private long bypassed;
+
+    // store 안에서만 바뀐다 (this 로 잠금)
+    private long evictions;
+    private int size;
+    private int victim;
+
+    public ColorMemo(Function<Color, Color> filter, int maxEntries) {
+        if (maxEntries < 1 || maxEntries > 1 << 24) throw new IllegalArgumentException("maxEntries out of range: " + maxEntries);
+        int capacity = Integer.highestOneBit(Math.max(PROBE_WINDOW, maxEntries) - 1) << 1;
+        this.filter = filter;
+        this.slots = new long[capacity];
+        this.colors = new Color[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    public Color apply(Color input) {
+        int argb = input.getRGB();
+        if ((argb >>> 24) != 0xff) {
+            bypassed++;
+            return filter.apply(input);
+        }
+
+        int rgb = argb & 0xffffff;
+        long found = find(rgb);
+        if (found != MISS) {
+            hits++;
+            int cached = (int) found;
+            // colors 는 슬롯과 따로 쓰이므로 같은 결과일 때만 재사용한다
+            Color color = colors[(int) (found >>> 32)];
+            return color != null && color.getRGB() == cached ? color : new Color(cached, true);
+        }
+
+        misses++;
+        Color output = filter.apply(input);
+        store(rgb, output);
+        return output;
+    }
+
+    public int applyAsInt(int argb) {
+        if ((argb >>> 24) != 0xff) {
+            bypassed++;
+            return filter.apply(new Color(argb, true)).getRGB();
+        }
+
+        int rgb = argb & 0xffffff;
+        long found = find(rgb);
+        if (found != MISS) {
+            hits++;
+            return (int) found;
+        }
+
+        misses++;
+        Color output = filter.apply(new Color(argb, true));
+        store(rgb, output);
+        return output.getRGB();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, evictions, bypassed, size, maxEntries);
+    }
+
+    // 키가 맞은 슬롯의 (index << 32 | 결과 argb). 결과는 키를 확인한 바로 그 읽기에서 꺼낸다
+    private long find(int rgb) {
+        long tag = USED | ((long) rgb << 32);
+        int start = hash(rgb);
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int index = (start + i) & mask;
+            long slot = (long) SLOTS.getOpaque(slots, index);
+            if (slot == 0) return MISS;
+            if ((slot & 0xffffffff00000000L) == tag) return ((long) index << 32) | (slot & 0xffffffffL);
+        }
+        return MISS;
+    }
+
+    private synchronized void store(int rgb, Color output) {
+        long entry = USED | ((long) rgb << 32) | (output.getRGB() & 0xffffffffL);
+        int start = hash(rgb);
+        int index = -1;
+        int occupied = 0;
+        for (int i = 0; i < PROBE_WINDOW; i++) {
+            int candidate = (start + i) & mask;
+            long slot = (long) SLOTS.getOpaque(slots, candidate);
+            if (slot == 0) {
+                if (size < maxEntries) {
+                    index = candidate;
+                    size++;
+                }
+                break;
+            }
+            if ((slot >>> 32) == (entry >>> 32)) {
+                index = candidate;
+                break;
+            }
+            occupied++;
+        }
+        if (index < 0) {
+            // 가득 찼는데 탐색 구간에 덮어쓸 칸이 없으면 기억하지 않는다
+            if (occupied == 0) return;
+            index = (start + Integer.remainderUnsigned(victim++, occupied)) & mask;
+            evictions++;
+        }
+        colors[index] = output;
+        SLOTS.setOpaque(slots, index, entry);
+    }
+
+    private int hash(int rgb) {
+        int h = rgb * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,14 @@
+package practice;
+
+public enum CustomerTier {
+    GUEST, MEMBER, VIP;
+
+    public static CustomerTier of(boolean isMember, boolean isVip) {
+        if (isVip) return VIP;
+        return isMember ? MEMBER : GUEST;
+    }
+
+    public boolean includes(CustomerTier other) {
+        return ordinal() >= other.ordinal();
+    }
+}
@@ -0,0 +1,157 @@
+package practice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * prefix/suffix 를 드러내는 문자열 데코레이터.
+ * compose 할 때 붙어 있는 감싸기 단계들을 (prefix, suffix) 한 쌍으로 미리 합쳐 두므로
+ * "**" + ("--" + s + "--") + "**" 같은 중간 String 이 생기지 않는다.
+ * 임의의 Function<String, String> 도 단계로 넣을 수 있고, 그 단계는 그대로 실행된다.
+ * Function.compose/andThen 도 재정의하므로 Function 타입으로 reduce 해도 합쳐진 Decorator 가 나온다.
+ * 그 밖의 함수는 Function 의 기본 합성을 따르고, 단계로 넣으려면 Decorator.of 로 감싼다.
+ */
+public final class Decorator implements Function<String, String> {
+
+    private sealed interface Stage permits Wrap, Fallback {
+        String apply(String value);
+    }
+
+    private record Wrap(String prefix, String suffix) implements Stage {
+        @Override
+        public String apply(String value) {
+            // indy 문자열 연결은 전체 길이를 먼저 계산해서 중간 String 없이 결과 String 과 그 배열만 만든다
+            return prefix + value + suffix;
+        }
+
+        Wrap around(Wrap inner) {
+            return new Wrap(prefix + inner.prefix, inner.suffix + suffix);
+        }
+    }
+
+    private record Fallback(Function<String, String> function) implements Stage {
+        @Override
+        public String apply(String value) {
+            return function.apply(value);
+        }
+    }
+
+    private static final Decorator IDENTITY = new Decorator(List.of());
+
+    // 안쪽(먼저 적용) -> 바깥쪽 순서
+    private final List<Stage> stages;
+
+    private Decorator(List<Stage> stages) {
+        this.stages = stages;
+    }
+
+    public static Decorator identity() {
+        return IDENTITY;
+    }
+
+    public static Decorator wrap(String prefix, String suffix) {
+        return new Decorator(List.of(new Wrap(prefix, suffix)));
+    }
+
+    public static Decorator of(Function<String, String> function) {
+        if (function instanceof Decorator decorator) return decorator;
+        return new Decorator(List.of(new Fallback(function)));
+    }
+
+    // DecoratorTest 의 reduce(acc.compose(next)) 와 같은 순서: 첫 번째가 가장 바깥쪽
+    public static Decorator chain(List<? extends Function<String, String>> decorators) {
+        return decorators.stream()
+                .map(Decorator::of)
+                .reduce(Decorator::compose)
+                .orElse(IDENTITY);
+    }
+
+    // inner 를 먼저 적용하고 그 결과를 this 로 감싼다
+    public Decorator compose(Decorator inner) {
+        if (inner.stages.isEmpty()) return this;
+        if (stages.isEmpty()) return inner;
+
+        List<Stage> merged = new ArrayList<>(inner.stages.size() + stages.size());
+        merged.addAll(inner.stages);
+        Stage last = merged.get(merged.size() - 1);
+        Stage first = stages.get(0);
+        if (last instanceof Wrap innerWrap && first instanceof Wrap outerWrap) {
+            merged.set(merged.size() - 1, outerWrap.around(innerWrap));
+            merged.addAll(stages.subList(1, stages.size()));
+        } else {
+            merged.addAll(stages);
+        }
+        return new Decorator(List.copyOf(merged));
+    }
+
+    public Decorator andThen(Decorator outer) {
+        return outer.compose(this);
+    }
+
+    // 입력 타입이 String 이 아닐 수 있으므로 Decorator 가 아닌 before 는 단계로 넣지 않는다 (단계로 넣으려면 Decorator.of)
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Function<V, String> compose(Function<? super V, ? extends String> before) {
+        if (before instanceof Decorator inner) return (Function<V, String>) compose(inner);
+        return Function.super.compose(before);
+    }
+
+    // 결과 타입이 String 이 아닐 수 있으므로 Decorator 가 아닌 after 는 단계로 넣지 않는다
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Function<String, V> andThen(Function<? super String, ? extends V> after) {
+        if (after instanceof Decorator outer) return (Function<String, V>) andThen(outer);
+        return Function.super.andThen(after);
+    }
+
+    // 감싸기 단계만으로 이루어져 있으면 true (apply 는 결과 String 과 그 byte[] 만 할당하고, appendTo 는 할당하지 않는다)
+    public boolean isFused() {
+        return stages.isEmpty() || (stages.size() == 1 && stages.get(0) instanceof Wrap);
+    }
+
+    public String prefix() {
+        return outerWrap().prefix();
+    }
+
+    public String suffix() {
+        return outerWrap().suffix();
+    }
+
+    private Wrap outerWrap() {
+        if (!isFused()) throw new IllegalStateException("decorator has non-fusable stages: " + this);
+        return stages.isEmpty() ? new Wrap("", "") : (Wrap) stages.get(0);
+    }
+
+    @Override
+    public String apply(String value) {
+        String result = value;
+        for (Stage stage : stages) {
+            result = stage.apply(result);
+        }
+        return result;
+    }
+
+    // 결과를 호출한 쪽의 버퍼에 쓴다. 바깥쪽 감싸기 단계는 String 을 만들지 않고 바로 append 한다.
+    public StringBuilder appendTo(StringBuilder out, String value) {
+        int outer = stages.size();
+        Wrap wrap = null;
+        if (outer > 0 && stages.get(outer - 1) instanceof Wrap last) {
+            wrap = last;
+            outer--;
+        }
+
+        String inner = value;
+        for (int i = 0; i < outer; i++) {
+            inner = stages.get(i).apply(inner);
+        }
+
+        if (wrap == null) return out.append(inner);
+        return out.append(wrap.prefix()).append(inner).append(wrap.suffix());
+    }
+
+    @Override
+    public String toString() {
+        return "Decorator" + stages;
+    }
+}
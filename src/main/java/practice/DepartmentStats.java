@@ -0,0 +1,122 @@
+package practice;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/*
+ * 부서 하나의 나이 통계 (개수, 최소, 최대, 평균, 고정 구간 히스토그램).
+ * 모든 값이 primitive 필드라 박싱이 없고, merge 는 결합법칙을 만족해서 병렬 스트림에서도 그대로 쓸 수 있다.
+ */
+public final class DepartmentStats {
+    public static final int DEFAULT_BUCKET_WIDTH = 10;
+    public static final int DEFAULT_BUCKET_COUNT = 10;
+
+    private final int bucketWidth;
+    private final long[] histogram;
+    private long count;
+    private long sum;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public DepartmentStats() {
+        this(DEFAULT_BUCKET_WIDTH, DEFAULT_BUCKET_COUNT);
+    }
+
+    // 구간: [0, w), [w, 2w), ... 마지막 구간은 그 이상 전부
+    public DepartmentStats(int bucketWidth, int bucketCount) {
+        if (bucketWidth < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("bucket width and count must be positive: " + bucketWidth + ", " + bucketCount);
+        }
+        this.bucketWidth = bucketWidth;
+        this.histogram = new long[bucketCount];
+    }
+
+    public void accept(int age) {
+        count++;
+        sum += age;
+        if (age < min) min = age;
+        if (age > max) max = age;
+        histogram[bucketOf(age)]++;
+    }
+
+    public void accept(Employee employee) {
+        accept(employee.getAge());
+    }
+
+    public DepartmentStats merge(DepartmentStats other) {
+        if (other.bucketWidth != bucketWidth || other.histogram.length != histogram.length) {
+            throw new IllegalArgumentException("cannot merge stats with different histogram buckets");
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] += other.histogram[i];
+        }
+        return this;
+    }
+
+    private int bucketOf(int age) {
+        if (age < 0) return 0;
+        return Math.min(age / bucketWidth, histogram.length - 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public int getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public int getBucketWidth() {
+        return bucketWidth;
+    }
+
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    public long bucket(int index) {
+        return histogram[index];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DepartmentStats{count=%d, min=%d, max=%d, mean=%.2f, histogram=%s}",
+                count, getMin(), getMax(), getMean(), Arrays.toString(histogram));
+    }
+
+    public static Collector<Employee, ?, Map<String, DepartmentStats>> byDepartment() {
+        return byDepartment(DEFAULT_BUCKET_WIDTH, DEFAULT_BUCKET_COUNT);
+    }
+
+    // groupingBy 를 여러 번 돌리지 않고 한 번에 부서별 통계를 만든다
+    public static Collector<Employee, ?, Map<String, DepartmentStats>> byDepartment(int bucketWidth, int bucketCount) {
+        Supplier<Map<String, DepartmentStats>> supplier = HashMap::new;
+        Function<String, DepartmentStats> newStats = department -> new DepartmentStats(bucketWidth, bucketCount);
+        BiConsumer<Map<String, DepartmentStats>, Employee> accumulator =
+                (map, employee) -> map.computeIfAbsent(employee.getDepartment(), newStats).accept(employee.getAge());
+        BinaryOperator<Map<String, DepartmentStats>> combiner = (left, right) -> {
+            right.forEach((department, stats) -> left.merge(department, stats, DepartmentStats::merge));
+            return left;
+        };
+
+        return Collector.of(supplier, accumulator, combiner, Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
@@ -0,0 +1,40 @@
+package practice;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// 컴파일된 DiscountTable 을 교체하는 방식으로 규칙을 갱신한다. 가격 계산 쪽은 락 없이 스냅샷만 읽는다.
+public class DiscountEngine {
+    private final AtomicReference<DiscountTable> table;
+
+    public DiscountEngine(DiscountTable initial) {
+        table = new AtomicReference<>(initial);
+    }
+
+    public DiscountTable table() {
+        return table.get();
+    }
+
+    public void publish(DiscountTable next) {
+        table.set(next);
+    }
+
+    // 새 테이블은 호출한 스레드에서 컴파일하고, 교체는 CAS 한 번으로 끝난다
+    public DiscountTable update(UnaryOperator<DiscountTable.Builder> change) {
+        while (true) {
+            DiscountTable current = table.get();
+            DiscountTable next = change.apply(current.toBuilder()).build();
+            if (table.compareAndSet(current, next)) return next;
+        }
+    }
+
+    public PurchaseItem apply(CustomerTier tier, PurchaseItem item) {
+        return table.get().apply(tier, item);
+    }
+
+    public BigDecimal total(CustomerTier tier, List<PurchaseItem> items) {
+        return table.get().total(tier, items);
+    }
+}
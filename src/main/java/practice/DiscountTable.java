@@ -0,0 +1,207 @@
+package practice;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+ * 등급/아이템별 할인 규칙을 미리 합성해 둔 결정 테이블.
+ * 규칙은 "해당 등급 이상" 에 적용되고, 여러 규칙은 DiscountFilter.totalDiscount 로 합성한 것과 같이 곱해진다.
+ * (회원 10% + vip 5% -> vip 가격 = value * 0.9 * 0.95)
+ * 한 줄의 가격 계산은 factors[tier][itemId] 조회 + 곱셈 한 번이다.
+ * 아이템 id 는 toBuilder 로 이어지는 테이블 사이에서 바뀌지 않는다. (새 아이템은 뒤에 붙기만 한다)
+ */
+public final class DiscountTable {
+
+    enum Scope { ALL, CATEGORY, ITEM }
+
+    record Rule(Scope scope, String key, CustomerTier tier, BigDecimal rate) {
+        boolean matches(String item, String category, CustomerTier customerTier) {
+            if (!customerTier.includes(tier)) return false;
+            return switch (scope) {
+                case ALL -> true;
+                case CATEGORY -> key.equals(category);
+                case ITEM -> key.equals(item);
+            };
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Map<String, String> categories;
+    private final Map<String, Integer> itemIds;
+    private final String[] itemNames;
+    private final BigDecimal[][] factors;
+    private final BigDecimal[] defaultFactors;
+
+    private DiscountTable(List<Rule> rules, Map<String, String> categories,
+                          String[] itemNames, BigDecimal[][] factors, BigDecimal[] defaultFactors) {
+        this.rules = List.copyOf(rules);
+        this.categories = Collections.unmodifiableMap(new LinkedHashMap<>(categories));
+        this.itemNames = itemNames;
+        this.factors = factors;
+        this.defaultFactors = defaultFactors;
+
+        Map<String, Integer> ids = new HashMap<>();
+        for (int id = 0; id < itemNames.length; id++) {
+            ids.put(itemNames[id], id);
+        }
+        this.itemIds = Map.copyOf(ids);
+    }
+
+    // knownItems 는 이전 테이블의 id 순서 그대로이고, 새로 등장한 아이템만 뒤에 붙인다
+    private static DiscountTable compile(List<Rule> rules, Map<String, String> categories, Set<String> knownItems) {
+        Set<String> ids = new LinkedHashSet<>(knownItems);
+        for (Rule rule : rules) {
+            if (rule.scope() == Scope.ITEM) ids.add(rule.key());
+        }
+        ids.addAll(categories.keySet());
+        String[] itemNames = ids.toArray(String[]::new);
+
+        CustomerTier[] tiers = CustomerTier.values();
+        BigDecimal[][] factors = new BigDecimal[tiers.length][itemNames.length];
+        BigDecimal[] defaultFactors = new BigDecimal[tiers.length];
+        for (CustomerTier tier : tiers) {
+            defaultFactors[tier.ordinal()] = factor(rules, null, null, tier);
+            for (int id = 0; id < itemNames.length; id++) {
+                factors[tier.ordinal()][id] = factor(rules, itemNames[id], categories.get(itemNames[id]), tier);
+            }
+        }
+        return new DiscountTable(rules, categories, itemNames, factors, defaultFactors);
+    }
+
+    // PricingSnapshot 에서 이미 컴파일된 값을 그대로 복원할 때 사용
+    static DiscountTable restore(List<Rule> rules, Map<String, String> categories,
+                                 String[] itemNames, BigDecimal[][] factors, BigDecimal[] defaultFactors) {
+        if (factors.length != CustomerTier.values().length || defaultFactors.length != CustomerTier.values().length) {
+            throw new IllegalArgumentException("factor table does not match customer tiers");
+        }
+        for (BigDecimal[] row : factors) {
+            if (row.length != itemNames.length) throw new IllegalArgumentException("factor table does not match item dictionary");
+        }
+        return new DiscountTable(rules, categories, itemNames.clone(), factors, defaultFactors);
+    }
+
+    List<Rule> rules() {
+        return rules;
+    }
+
+    Map<String, String> categories() {
+        return categories;
+    }
+
+    String[] itemNames() {
+        return itemNames.clone();
+    }
+
+    BigDecimal[] defaultFactors() {
+        return defaultFactors.clone();
+    }
+
+    private static BigDecimal factor(List<Rule> rules, String item, String category, CustomerTier tier) {
+        return rules.stream()
+                .filter(rule -> rule.matches(item, category, tier))
+                .map(rule -> BigDecimal.ONE.subtract(rule.rate()))
+                .reduce(BigDecimal.ONE, BigDecimal::multiply);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.rules.addAll(rules);
+        builder.categories.putAll(categories);
+        builder.knownItems.addAll(Arrays.asList(itemNames));
+        return builder;
+    }
+
+    // 규칙이 없는 아이템은 -1 (전체 규칙만 적용)
+    public int itemId(String item) {
+        Integer id = itemIds.get(item);
+        return id == null ? -1 : id;
+    }
+
+    public BigDecimal factor(CustomerTier tier, int itemId) {
+        return itemId < 0 ? defaultFactors[tier.ordinal()] : factors[tier.ordinal()][itemId];
+    }
+
+    public BigDecimal price(CustomerTier tier, int itemId, BigDecimal value) {
+        return value.multiply(factor(tier, itemId));
+    }
+
+    public PurchaseItem apply(CustomerTier tier, PurchaseItem item) {
+        return PurchaseItem.builder()
+                .item(item.getItem())
+                .value(price(tier, itemId(item.getItem()), item.getValue()))
+                .build();
+    }
+
+    public Function<PurchaseItem, PurchaseItem> forTier(CustomerTier tier) {
+        return item -> apply(tier, item);
+    }
+
+    public BigDecimal total(CustomerTier tier, List<PurchaseItem> items) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (PurchaseItem item : items) {
+            total = total.add(price(tier, itemId(item.getItem()), item.getValue()));
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "DiscountTable{rules=" + rules.size() + ", items=" + Arrays.toString(itemNames) + "}";
+    }
+
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private final Map<String, String> categories = new LinkedHashMap<>();
+        private final Set<String> knownItems = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder forAll(CustomerTier tier, BigDecimal rate) {
+            return add(new Rule(Scope.ALL, null, tier, rate));
+        }
+
+        public Builder forCategory(String category, CustomerTier tier, BigDecimal rate) {
+            return add(new Rule(Scope.CATEGORY, category, tier, rate));
+        }
+
+        public Builder forItem(String item, CustomerTier tier, BigDecimal rate) {
+            return add(new Rule(Scope.ITEM, item, tier, rate));
+        }
+
+        public Builder category(String item, String category) {
+            categories.put(item, category);
+            return this;
+        }
+
+        public Builder clearRules() {
+            rules.clear();
+            return this;
+        }
+
+        private Builder add(Rule rule) {
+            if (rule.rate().signum() < 0 || rule.rate().compareTo(BigDecimal.ONE) > 0) {
+                throw new IllegalArgumentException("discount rate must be between 0 and 1: " + rule.rate());
+            }
+            rules.add(rule);
+            return this;
+        }
+
+        public DiscountTable build() {
+            return compile(rules, categories, knownItems);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package practice;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/*
+ * 고정 크기(2^precision 개의 6비트 레지스터)로 서로 다른 값의 개수를 추정한다.
+ * 표준 오차는 약 1.04 / sqrt(2^precision) (precision 14 -> 0.81%, 직렬화 크기 12KB).
+ * 추정은 레지스터 값의 히스토그램을 쓰는 Ertl 의 개선 추정기 (arXiv:1702.01284) 라서
+ * linear counting 과 원래 추정식 사이의 전환 구간 (약 2.5 * 2^precision 근처) 에서 생기던 bias 가 없다.
+ * 빈 sketch 부터 2^64 근처까지 한 식으로 추정하고 표에 의존하는 보정도 필요 없다.
+ * merge 는 레지스터별 max 라서 병렬 파티션/샤드 결과를 순서와 상관없이 합칠 수 있다.
+ */
+public final class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 18;
+    public static final int DEFAULT_PRECISION = 14;
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final int REGISTER_BITS = 6;
+
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + ": " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public double standardError() {
+        return 1.04 / Math.sqrt(registers.length);
+    }
+
+    public void add(CharSequence value) {
+        addHash(Sketches.hash64(value));
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 남은 비트의 선행 0 개수 + 1 (최대 64 - precision + 1)
+        long rest = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+        if (rank > registers[index]) registers[index] = rank;
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("cannot merge precision " + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+        }
+        return this;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+
+        double z = m * tau(1 - (double) histogram[q + 1] / m);
+        for (int k = q; k >= 1; k--) {
+            z = 0.5 * (z + histogram[k]);
+        }
+        z += m * sigma((double) histogram[0] / m);
+        return Math.round(m / (2 * Math.log(2)) * m / z);
+    }
+
+    // 비어 있는 레지스터 쪽 보정 항: x + sum(x^(2^k) * 2^(k-1))
+    private static double sigma(double x) {
+        if (x == 1) return Double.POSITIVE_INFINITY;
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    // 가득 찬 레지스터 쪽 보정 항
+    private static double tau(double x) {
+        if (x == 0 || x == 1) return 0;
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+
+    // [version][precision][레지스터 6비트씩 압축]
+    public byte[] toBytes() {
+        int packedLength = (registers.length * REGISTER_BITS + 7) / 8;
+        ByteBuffer buffer = ByteBuffer.allocate(2 + packedLength);
+        buffer.put(FORMAT_VERSION).put((byte) precision);
+
+        long bits = 0;
+        int pending = 0;
+        for (byte register : registers) {
+            bits = (bits << REGISTER_BITS) | register;
+            pending += REGISTER_BITS;
+            while (pending >= 8) {
+                pending -= 8;
+                buffer.put((byte) (bits >>> pending));
+            }
+        }
+        if (pending > 0) buffer.put((byte) (bits << (8 - pending)));
+        return buffer.array();
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("unsupported HyperLogLog format");
+        }
+        HyperLogLog hll = new HyperLogLog(bytes[1]);
+        if (bytes.length != 2 + (hll.registers.length * REGISTER_BITS + 7) / 8) {
+            throw new IllegalArgumentException("truncated HyperLogLog data: " + bytes.length + " bytes");
+        }
+
+        long bits = 0;
+        int available = 0;
+        int position = 2;
+        for (int i = 0; i < hll.registers.length; i++) {
+            while (available < REGISTER_BITS) {
+                bits = (bits << 8) | (bytes[position++] & 0xff);
+                available += 8;
+            }
+            available -= REGISTER_BITS;
+            int register = (int) ((bits >>> available) & 0x3f);
+            if (register > 65 - hll.precision) throw new IllegalArgumentException("corrupt HyperLogLog register: " + register);
+            hll.registers[i] = (byte) register;
+        }
+        return hll;
+    }
+
+    public static <T> Collector<T, HyperLogLog, HyperLogLog> collector(Function<? super T, ? extends CharSequence> key, int precision) {
+        return Collector.of(
+                () -> new HyperLogLog(precision),
+                (hll, value) -> hll.add(key.apply(value)),
+                HyperLogLog::merge,
+                Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+    }
+}
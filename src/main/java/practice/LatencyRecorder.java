@@ -0,0 +1,80 @@
+package practice;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * HDR 방식의 고정 크기 로그 버킷 히스토그램.
+ * 2의 거듭제곱 구간마다 SUB_BUCKETS 개의 선형 버킷으로 나누므로 상대 오차는 1 / SUB_BUCKETS (약 0.8%) 이하이고,
+ * 샘플 수와 상관없이 메모리는 약 58KB 로 고정이다. 합치기는 버킷 카운트를 더하기만 하면 된다.
+ * 여러 스레드가 하나를 같이 써도 되므로 클라이언트마다 만들지 않고 CPU 수만큼만 나눠 쓴다.
+ */
+public class LatencyRecorder {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 64 - SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES << SUB_BUCKET_BITS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.getAndIncrement(indexOf(value));
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    // 다른 스레드가 아직 기록 중인 recorder 를 합치면 그 시점까지의 값만 들어온다
+    public void addAll(LatencyRecorder other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long added = other.counts.get(i);
+            if (added != 0) counts.getAndAdd(i, added);
+        }
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    // nearest-rank 방식의 백분위수 (percentile 은 0 ~ 100). 버킷 안에서 가장 큰 값을 돌려준다
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) throw new IllegalArgumentException("percentile out of range: " + percentile);
+        long count = count();
+        if (count == 0) return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count - 1e-9));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(highestValueAt(i), max());
+        }
+        return max();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return ((shift + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    static long highestValueAt(int index) {
+        int magnitude = index >>> SUB_BUCKET_BITS;
+        long subBucket = index & (SUB_BUCKETS - 1);
+        if (magnitude == 0) return subBucket;
+
+        int shift = magnitude - 1;
+        long lowest = (SUB_BUCKETS + subBucket) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,207 @@
+package practice;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/*
+ * 이름 대/소문자 일괄 변환기.
+ * ASCII 이름은 8바이트씩 SWAR 로 변환하고 (재사용 버퍼 사용), ASCII 가 아닌 이름만 Locale.ROOT 유니코드 규칙으로 처리한다.
+ * 바꿀 글자가 없는 이름은 원래 String 을 그대로 돌려준다.
+ * 내부 버퍼를 재사용하므로 스레드마다 하나씩 만들어 쓴다.
+ */
+public class NameNormalizer {
+
+    public enum Case {
+        UPPER('a', 'z'), LOWER('A', 'Z');
+
+        private final long addLow;
+        private final long addHigh;
+
+        Case(char from, char to) {
+            // 바이트 b (< 0x80) 에 더했을 때 b >= from 이면 / b > to 이면 최상위 비트가 켜지는 값
+            this.addLow = (0x80 - from) * ONES;
+            this.addHigh = (0x80 - to - 1) * ONES;
+        }
+
+        String unicode(String name) {
+            return this == UPPER ? name.toUpperCase(Locale.ROOT) : name.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // 바이트로 묶인 UTF-8 이름들. i 번째 이름은 data[offsets[i], offsets[i + 1])
+    public record Utf8Batch(byte[] data, int[] offsets, int count) {
+        public static Utf8Batch pack(List<String> names) {
+            byte[][] encoded = new byte[names.size()][];
+            int[] offsets = new int[names.size() + 1];
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+                offsets[i + 1] = offsets[i] + encoded[i].length;
+            }
+            byte[] data = new byte[offsets[names.size()]];
+            for (int i = 0; i < encoded.length; i++) {
+                System.arraycopy(encoded[i], 0, data, offsets[i], encoded[i].length);
+            }
+            return new Utf8Batch(data, offsets, names.size());
+        }
+
+        public String name(int index) {
+            Objects.checkIndex(index, count);
+            return new String(data, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+        }
+
+        public int byteLength() {
+            return offsets[count];
+        }
+    }
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Case target;
+    private final Map<String, String> pool;
+    private final int poolCapacity;
+
+    private char[] chars = new char[64];
+    private byte[] bytes = new byte[64];
+    private byte[] outData = new byte[256];
+    private int[] outOffsets = new int[16];
+
+    public NameNormalizer(Case target) {
+        this(target, 0);
+    }
+
+    // poolCapacity > 0 이면 결과 String 을 최대 poolCapacity 개까지 중복 제거(intern)해서 돌려준다
+    public NameNormalizer(Case target, int poolCapacity) {
+        this.target = target;
+        this.poolCapacity = poolCapacity;
+        this.pool = poolCapacity > 0 ? new HashMap<>() : null;
+    }
+
+    public String normalize(String name) {
+        int length = name.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length << 1)];
+            bytes = new byte[chars.length];
+        }
+        name.getChars(0, length, chars, 0);
+
+        int or = 0;
+        for (int i = 0; i < length; i++) {
+            char c = chars[i];
+            or |= c;
+            bytes[i] = (byte) c;
+        }
+        if (or >= 0x80) return intern(target.unicode(name));
+
+        if (!convertAscii(bytes, 0, length)) return intern(name);
+        return intern(new String(bytes, 0, length, StandardCharsets.ISO_8859_1));
+    }
+
+    public List<String> normalizeAll(List<String> names) {
+        List<String> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(normalize(name));
+        }
+        return result;
+    }
+
+    /*
+     * 전체가 ASCII 면 이름 경계와 상관없이 버퍼 전체를 한 번에 변환한다.
+     * 돌려주는 Utf8Batch 는 내부 버퍼를 가리키므로 다음 호출 전까지만 유효하다.
+     */
+    public Utf8Batch normalizeUtf8(Utf8Batch batch) {
+        int length = batch.byteLength();
+        if (outData.length < length) outData = new byte[Math.max(length, outData.length << 1)];
+        if (outOffsets.length < batch.count() + 1) outOffsets = new int[Math.max(batch.count() + 1, outOffsets.length << 1)];
+
+        if (isAscii(batch.data(), 0, length)) {
+            System.arraycopy(batch.data(), 0, outData, 0, length);
+            System.arraycopy(batch.offsets(), 0, outOffsets, 0, batch.count() + 1);
+            convertAscii(outData, 0, length);
+            return new Utf8Batch(outData, outOffsets, batch.count());
+        }
+
+        int position = 0;
+        for (int i = 0; i < batch.count(); i++) {
+            int start = batch.offsets()[i];
+            int nameLength = batch.offsets()[i + 1] - start;
+            outOffsets[i] = position;
+
+            if (isAscii(batch.data(), start, nameLength)) {
+                ensureOutput(position + nameLength);
+                System.arraycopy(batch.data(), start, outData, position, nameLength);
+                convertAscii(outData, position, nameLength);
+                position += nameLength;
+            } else {
+                String converted = target.unicode(new String(batch.data(), start, nameLength, StandardCharsets.UTF_8));
+                byte[] encoded = converted.getBytes(StandardCharsets.UTF_8);
+                ensureOutput(position + encoded.length);
+                System.arraycopy(encoded, 0, outData, position, encoded.length);
+                position += encoded.length;
+            }
+        }
+        outOffsets[batch.count()] = position;
+        return new Utf8Batch(outData, outOffsets, batch.count());
+    }
+
+    public int pooledCount() {
+        return pool == null ? 0 : pool.size();
+    }
+
+    private void ensureOutput(int required) {
+        if (outData.length < required) outData = Arrays.copyOf(outData, Math.max(required, outData.length << 1));
+    }
+
+    private String intern(String value) {
+        if (pool == null) return value;
+        String pooled = pool.get(value);
+        if (pooled != null) return pooled;
+        if (pool.size() < poolCapacity) pool.put(value, value);
+        return value;
+    }
+
+    private static boolean isAscii(byte[] data, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        long or = 0;
+        for (; i + 8 <= end; i += 8) {
+            or |= (long) LONGS.get(data, i);
+        }
+        for (; i < end; i++) {
+            or |= data[i];
+        }
+        return (or & HIGH_BITS) == 0;
+    }
+
+    // ASCII 만 들어 있는 구간을 변환한다. 바뀐 글자가 있으면 true
+    private boolean convertAscii(byte[] data, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        long changed = 0;
+        for (; i + 8 <= end; i += 8) {
+            long word = (long) LONGS.get(data, i);
+            long mask = ((word + target.addLow) ^ (word + target.addHigh)) & HIGH_BITS;
+            if (mask != 0) {
+                LONGS.set(data, i, word ^ (mask >>> 2));
+                changed |= mask;
+            }
+        }
+        for (; i < end; i++) {
+            long word = data[i];
+            long mask = ((word + (target.addLow & 0xff)) ^ (word + (target.addHigh & 0xff))) & 0x80;
+            data[i] = (byte) (word ^ (mask >>> 2));
+            changed |= mask;
+        }
+        return changed != 0;
+    }
+}
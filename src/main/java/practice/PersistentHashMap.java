@@ -0,0 +1,378 @@
+package practice;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/*
+ * HAMT(Hash Array Mapped Trie) 기반의 불변 맵.
+ * put/remove 는 바뀐 경로(최대 7단계)만 복사하고 나머지 노드는 이전 버전과 공유한다.
+ * key, value 모두 null 은 허용하지 않는다.
+ */
+public final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>> {
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private static final BitmapNode EMPTY_NODE = new BitmapNode(0, new Object[0]);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public static <K, V> PersistentHashMap<K, V> from(Map<? extends K, ? extends V> map) {
+        PersistentHashMap<K, V> result = empty();
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            result = result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (root == null || key == null) return null;
+        return (V) root.find(0, hash(key), key);
+    }
+
+    public V getOrDefault(Object key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public PersistentHashMap<K, V> put(K key, V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        boolean[] added = new boolean[1];
+        Node newRoot = (root == null ? EMPTY_NODE : root).put(0, hash(key), key, value, added);
+        if (newRoot == root) return this;
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    public PersistentHashMap<K, V> remove(Object key) {
+        if (root == null || key == null) return this;
+
+        Node newRoot = root.remove(0, hash(key), key);
+        if (newRoot == root) return this;
+        return newRoot == null ? empty() : new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    // 읽기 전용 java.util.Map 뷰 (기존 스트림 코드에서 그대로 사용)
+    public Map<K, V> asMap() {
+        return new MapView<>(this);
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 0x1f);
+    }
+
+    private static Object[] cloneAndSet(Object[] array, int i, Object value) {
+        Object[] clone = array.clone();
+        clone[i] = value;
+        return clone;
+    }
+
+    private static Object[] cloneAndSet(Object[] array, int i, Object a, int j, Object b) {
+        Object[] clone = array.clone();
+        clone[i] = a;
+        clone[j] = b;
+        return clone;
+    }
+
+    private static Object[] removePair(Object[] array, int index) {
+        Object[] result = new Object[array.length - 2];
+        System.arraycopy(array, 0, result, 0, 2 * index);
+        System.arraycopy(array, 2 * (index + 1), result, 2 * index, result.length - 2 * index);
+        return result;
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+
+        Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        // 키가 없으면 this, 노드가 비면 null
+        Node remove(int shift, int hash, Object key);
+
+        // [key, value] 쌍 배열. key 가 null 이면 value 는 하위 노드
+        Object[] array();
+    }
+
+    private static final class BitmapNode implements Node {
+        private final int bitmap;
+        private final Object[] array;
+
+        BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) return null;
+
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) return ((Node) v).find(shift + 5, hash, key);
+            return key.equals(k) ? v : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bitpos(hash, shift);
+            int i = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                int n = Integer.bitCount(bitmap);
+                Object[] newArray = new Object[2 * (n + 1)];
+                System.arraycopy(array, 0, newArray, 0, 2 * i);
+                newArray[2 * i] = key;
+                newArray[2 * i + 1] = value;
+                System.arraycopy(array, 2 * i, newArray, 2 * (i + 1), 2 * (n - i));
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(shift + 5, hash, key, value, added);
+                return child == v ? this : new BitmapNode(bitmap, cloneAndSet(array, 2 * i + 1, child));
+            }
+            if (key.equals(k)) {
+                return value == v ? this : new BitmapNode(bitmap, cloneAndSet(array, 2 * i + 1, value));
+            }
+
+            added[0] = true;
+            Node child = split(shift + 5, k, v, hash, key, value);
+            return new BitmapNode(bitmap, cloneAndSet(array, 2 * i, null, 2 * i + 1, child));
+        }
+
+        private static Node split(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) return new CollisionNode(h1, new Object[]{k1, v1, k2, v2});
+
+            boolean[] ignored = new boolean[1];
+            return EMPTY_NODE.put(shift, h1, k1, v1, ignored).put(shift, h2, k2, v2, ignored);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+
+            int i = index(bit);
+            Object k = array[2 * i];
+            Object v = array[2 * i + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(shift + 5, hash, key);
+                if (child == v) return this;
+                if (child != null) return new BitmapNode(bitmap, cloneAndSet(array, 2 * i + 1, child));
+            } else if (!key.equals(k)) {
+                return this;
+            }
+
+            if (bitmap == bit) return null;
+            return new BitmapNode(bitmap ^ bit, removePair(array, i));
+        }
+
+        @Override
+        public Object[] array() {
+            return array;
+        }
+    }
+
+    // 해시가 완전히 같은 키들
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] array;
+
+        CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) return null;
+            int i = indexOf(key);
+            return i < 0 ? null : array[i + 1];
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(bitpos(this.hash, shift), new Object[]{null, this})
+                        .put(shift, hash, key, value, added);
+            }
+
+            int i = indexOf(key);
+            if (i >= 0) {
+                return array[i + 1] == value ? this : new CollisionNode(hash, cloneAndSet(array, i + 1, value));
+            }
+
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key) {
+            if (hash != this.hash) return this;
+            int i = indexOf(key);
+            if (i < 0) return this;
+            if (array.length == 2) return null;
+            return new CollisionNode(hash, removePair(array, i / 2));
+        }
+
+        @Override
+        public Object[] array() {
+            return array;
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private Map.Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            if (root != null) push(root);
+            advance();
+        }
+
+        private void push(Node node) {
+            arrays.push(node.array());
+            positions.push(0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!arrays.isEmpty()) {
+                Object[] array = arrays.peek();
+                int position = positions.pop();
+                if (position >= array.length) {
+                    arrays.pop();
+                    continue;
+                }
+                positions.push(position + 2);
+
+                Object k = array[position];
+                Object v = array[position + 1];
+                if (k == null) {
+                    push((Node) v);
+                } else {
+                    next = new AbstractMap.SimpleImmutableEntry<>((K) k, (V) v);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            Map.Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+
+    private static final class MapView<K, V> extends AbstractMap<K, V> {
+        private final PersistentHashMap<K, V> map;
+
+        MapView(PersistentHashMap<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public V get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return map.iterator();
+                }
+
+                @Override
+                public int size() {
+                    return map.size();
+                }
+            };
+        }
+    }
+}
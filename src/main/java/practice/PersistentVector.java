@@ -0,0 +1,164 @@
+package practice;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/*
+ * 32갈래 트라이 + tail 배열로 된 불변 벡터.
+ * append 는 대부분 tail(최대 32칸)만 복사하고, set 은 루트에서 잎까지의 경로만 복사한다. (log32 n)
+ */
+public final class PersistentVector<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH], new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    public static <E> PersistentVector<E> from(Iterable<? extends E> values) {
+        PersistentVector<E> result = empty();
+        for (E value : values) {
+            result = result.append(value);
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] leafFor(int index) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset()) return tail;
+
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    public PersistentVector<E> append(E value) {
+        Objects.requireNonNull(value, "value");
+
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+
+        // tail 이 가득 찼으면 트리에 넣고 새 tail 을 시작한다
+        Object[] newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tail);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    private Object[] pushTail(int level, Object[] parent, Object[] tailNode) {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Object[] result = parent.clone();
+        if (level == BITS) {
+            result[subIndex] = tailNode;
+        } else {
+            Object[] child = (Object[]) parent[subIndex];
+            result[subIndex] = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        return result;
+    }
+
+    private static Object[] newPath(int level, Object[] node) {
+        if (level == 0) return node;
+        Object[] result = new Object[WIDTH];
+        result[0] = newPath(level - BITS, node);
+        return result;
+    }
+
+    public PersistentVector<E> set(int index, E value) {
+        Objects.checkIndex(index, size);
+        Objects.requireNonNull(value, "value");
+
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, value), tail);
+    }
+
+    private static Object[] assoc(int level, Object[] node, int index, Object value) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = value;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = assoc(level - BITS, (Object[]) node[subIndex], index, value);
+        }
+        return result;
+    }
+
+    // 읽기 전용 java.util.List 뷰
+    public List<E> asList() {
+        return new ListView<>(this);
+    }
+
+    @Override
+    public String toString() {
+        return asList().toString();
+    }
+
+    private static final class ListView<E> extends AbstractList<E> implements RandomAccess {
+        private final PersistentVector<E> vector;
+
+        ListView(PersistentVector<E> vector) {
+            this.vector = vector;
+        }
+
+        @Override
+        public E get(int index) {
+            return vector.get(index);
+        }
+
+        @Override
+        public int size() {
+            return vector.size();
+        }
+    }
+}
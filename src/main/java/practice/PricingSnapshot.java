@@ -0,0 +1,235 @@
+package practice;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/*
+ * PricingState 바이너리 스냅샷.
+ *
+ * header : magic "PRCS"(int) | version(int) | payload 길이(long) | payload CRC32(long)
+ * payload: 규칙 | 카테고리 | 아이템 사전 | 등급 x 아이템 할인 계수 | 등급별 기본 계수 | 아이템별 합계
+ *
+ * 읽을 때는 파일을 메모리 매핑해서 체크섬을 확인한 뒤 컴파일된 값을 그대로 올린다.
+ * 쓸 때는 임시 파일에 쓰고 rename 하므로 읽는 쪽은 완성된 파일만 본다.
+ */
+final class PricingSnapshot {
+    static final int MAGIC = 0x50524353; // "PRCS"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    private PricingSnapshot() {
+    }
+
+    static void write(PricingState state, Path path) throws IOException {
+        DiscountTable table = state.discounts().table();
+        Map<String, PricingState.ItemTotal> totals = Map.copyOf(state.totals());
+
+        Writer payload = new Writer();
+        payload.putInt(table.rules().size());
+        for (DiscountTable.Rule rule : table.rules()) {
+            payload.putByte(rule.scope().ordinal());
+            payload.putString(rule.key());
+            payload.putByte(rule.tier().ordinal());
+            payload.putDecimal(rule.rate());
+        }
+
+        payload.putInt(table.categories().size());
+        table.categories().forEach((item, category) -> {
+            payload.putString(item);
+            payload.putString(category);
+        });
+
+        String[] itemNames = table.itemNames();
+        payload.putInt(itemNames.length);
+        for (String name : itemNames) {
+            payload.putString(name);
+        }
+        for (CustomerTier tier : CustomerTier.values()) {
+            for (int id = 0; id < itemNames.length; id++) {
+                payload.putDecimal(table.factor(tier, id));
+            }
+        }
+        for (BigDecimal factor : table.defaultFactors()) {
+            payload.putDecimal(factor);
+        }
+
+        payload.putInt(totals.size());
+        totals.forEach((item, total) -> {
+            payload.putString(item);
+            payload.putLong(total.count());
+            payload.putDecimal(total.amount());
+        });
+
+        ByteBuffer body = payload.toBuffer();
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC).putInt(VERSION).putLong(body.remaining()).putLong(crc.getValue())
+                .flip();
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) channel.write(header);
+            while (body.hasRemaining()) channel.write(body);
+            channel.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static PricingState read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new IOException("pricing snapshot too short: " + size + " bytes");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (mapped.getInt() != MAGIC) throw new IOException("not a pricing snapshot: " + path);
+            int version = mapped.getInt();
+            if (version != VERSION) throw new IOException("unsupported pricing snapshot version " + version);
+            long length = mapped.getLong();
+            long checksum = mapped.getLong();
+            if (length != size - HEADER_SIZE) throw new IOException("pricing snapshot length mismatch: " + path);
+
+            ByteBuffer body = mapped.slice();
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != checksum) throw new IOException("pricing snapshot checksum mismatch: " + path);
+
+            try {
+                return decode(body);
+            } catch (RuntimeException e) {
+                throw new IOException("corrupt pricing snapshot: " + path, e);
+            }
+        }
+    }
+
+    private static PricingState decode(ByteBuffer in) {
+        DiscountTable.Scope[] scopes = DiscountTable.Scope.values();
+        CustomerTier[] tiers = CustomerTier.values();
+
+        int ruleCount = in.getInt();
+        List<DiscountTable.Rule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            DiscountTable.Scope scope = scopes[in.get()];
+            String key = getString(in);
+            CustomerTier tier = tiers[in.get()];
+            rules.add(new DiscountTable.Rule(scope, key, tier, getDecimal(in)));
+        }
+
+        int categoryCount = in.getInt();
+        Map<String, String> categories = new LinkedHashMap<>();
+        for (int i = 0; i < categoryCount; i++) {
+            categories.put(getString(in), getString(in));
+        }
+
+        String[] itemNames = new String[in.getInt()];
+        for (int id = 0; id < itemNames.length; id++) {
+            itemNames[id] = getString(in);
+        }
+        BigDecimal[][] factors = new BigDecimal[tiers.length][itemNames.length];
+        for (BigDecimal[] row : factors) {
+            for (int id = 0; id < row.length; id++) {
+                row[id] = getDecimal(in);
+            }
+        }
+        BigDecimal[] defaultFactors = new BigDecimal[tiers.length];
+        for (int i = 0; i < defaultFactors.length; i++) {
+            defaultFactors[i] = getDecimal(in);
+        }
+
+        int totalCount = in.getInt();
+        Map<String, PricingState.ItemTotal> totals = new HashMap<>();
+        for (int i = 0; i < totalCount; i++) {
+            String item = getString(in);
+            long count = in.getLong();
+            totals.put(item, new PricingState.ItemTotal(count, getDecimal(in)));
+        }
+        if (in.hasRemaining()) throw new IllegalStateException(in.remaining() + " trailing bytes");
+
+        return new PricingState(DiscountTable.restore(rules, categories, itemNames, factors, defaultFactors), totals);
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer in) {
+        int scale = in.getInt();
+        byte[] unscaled = new byte[in.getInt()];
+        in.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static final class Writer {
+        private ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() << 1, buffer.position() + bytes));
+                grown.put(buffer.flip());
+                buffer = grown;
+            }
+        }
+
+        void putByte(int value) {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putBytes(byte[] bytes) {
+            putInt(bytes.length);
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                putInt(-1);
+            } else {
+                putBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void putDecimal(BigDecimal value) {
+            putInt(value.scale());
+            putBytes(value.unscaledValue().toByteArray());
+        }
+
+        ByteBuffer toBuffer() {
+            return buffer.duplicate().flip();
+        }
+    }
+}
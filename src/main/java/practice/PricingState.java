@@ -0,0 +1,62 @@
+package practice;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 가격 계산 노드가 들고 있는 컴파일된 상태: 할인 결정 테이블(등급별 할인율 + 아이템 사전)과 아이템별 누적 합계.
+ * save/load 로 스냅샷 파일에 저장했다가 재시작할 때 다시 컴파일하지 않고 바로 복원한다.
+ */
+public class PricingState {
+
+    public record ItemTotal(long count, BigDecimal amount) {
+        public ItemTotal plus(ItemTotal other) {
+            return new ItemTotal(count + other.count, amount.add(other.amount));
+        }
+    }
+
+    private final DiscountEngine discounts;
+    private final ConcurrentHashMap<String, ItemTotal> totals;
+
+    public PricingState(DiscountTable table) {
+        this(table, Map.of());
+    }
+
+    PricingState(DiscountTable table, Map<String, ItemTotal> totals) {
+        this.discounts = new DiscountEngine(table);
+        this.totals = new ConcurrentHashMap<>(totals);
+    }
+
+    public DiscountEngine discounts() {
+        return discounts;
+    }
+
+    public void record(PurchaseItem item) {
+        totals.merge(item.getItem(), new ItemTotal(1, item.getValue()), ItemTotal::plus);
+    }
+
+    public void recordAll(List<PurchaseItem> items) {
+        items.forEach(this::record);
+    }
+
+    public ItemTotal total(String item) {
+        return totals.getOrDefault(item, new ItemTotal(0, BigDecimal.ZERO));
+    }
+
+    public Map<String, ItemTotal> totals() {
+        return Collections.unmodifiableMap(totals);
+    }
+
+    public void save(Path path) throws IOException {
+        PricingSnapshot.write(this, path);
+    }
+
+    public static PricingState load(Path path) throws IOException {
+        return PricingSnapshot.read(path);
+    }
+}
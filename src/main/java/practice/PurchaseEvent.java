@@ -0,0 +1,19 @@
+package practice;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record PurchaseEvent(PurchaseItem purchase, long timestampMillis) {
+
+    public static PurchaseEvent of(PurchaseItem purchase, Instant timestamp) {
+        return new PurchaseEvent(purchase, timestamp.toEpochMilli());
+    }
+
+    public String item() {
+        return purchase.getItem();
+    }
+
+    public BigDecimal value() {
+        return purchase.getValue();
+    }
+}
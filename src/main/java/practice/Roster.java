@@ -0,0 +1,121 @@
+package practice;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/*
+ * 사원 명부. 갱신할 때마다 구조를 공유하는 새 Snapshot 을 만들고 CAS 로 교체한다.
+ * 읽는 쪽은 snapshot() 으로 받은 버전을 락 없이 원하는 만큼 들고 있을 수 있다.
+ */
+public class Roster {
+
+    public static final class Snapshot {
+        private static final Snapshot EMPTY =
+                new Snapshot(PersistentHashMap.empty(), PersistentHashMap.empty(), PersistentVector.empty());
+
+        private final PersistentHashMap<String, Employee> byName;
+        private final PersistentHashMap<String, PersistentHashMap<String, Employee>> byDepartment;
+        private final PersistentVector<Employee> history;
+
+        private Snapshot(PersistentHashMap<String, Employee> byName,
+                         PersistentHashMap<String, PersistentHashMap<String, Employee>> byDepartment,
+                         PersistentVector<Employee> history) {
+            this.byName = byName;
+            this.byDepartment = byDepartment;
+            this.history = history;
+        }
+
+        public int size() {
+            return byName.size();
+        }
+
+        public Employee get(String name) {
+            return byName.get(name);
+        }
+
+        public Map<String, Employee> employees() {
+            return byName.asMap();
+        }
+
+        public Set<String> departments() {
+            return byDepartment.asMap().keySet();
+        }
+
+        public Map<String, Employee> department(String department) {
+            return byDepartment.getOrDefault(department, PersistentHashMap.empty()).asMap();
+        }
+
+        // 입사/이동 기록 (시간 순)
+        public List<Employee> history() {
+            return history.asList();
+        }
+
+        Snapshot hire(Employee employee) {
+            Employee previous = byName.get(employee.getName());
+            PersistentHashMap<String, PersistentHashMap<String, Employee>> departments =
+                    previous == null ? byDepartment : without(byDepartment, previous);
+
+            PersistentHashMap<String, Employee> members =
+                    departments.getOrDefault(employee.getDepartment(), PersistentHashMap.empty());
+            return new Snapshot(
+                    byName.put(employee.getName(), employee),
+                    departments.put(employee.getDepartment(), members.put(employee.getName(), employee)),
+                    history.append(employee));
+        }
+
+        Snapshot transfer(String name, String department) {
+            Employee employee = byName.get(name);
+            if (employee == null) throw new IllegalArgumentException("no such employee: " + name);
+            if (employee.getDepartment().equals(department)) return this;
+
+            return hire(Employee.builder()
+                    .name(employee.getName())
+                    .department(department)
+                    .age(employee.getAge())
+                    .build());
+        }
+
+        Snapshot leave(String name) {
+            Employee employee = byName.get(name);
+            if (employee == null) return this;
+            return new Snapshot(byName.remove(name), without(byDepartment, employee), history);
+        }
+
+        private static PersistentHashMap<String, PersistentHashMap<String, Employee>> without(
+                PersistentHashMap<String, PersistentHashMap<String, Employee>> departments, Employee employee) {
+            PersistentHashMap<String, Employee> members = departments.get(employee.getDepartment()).remove(employee.getName());
+            return members.isEmpty()
+                    ? departments.remove(employee.getDepartment())
+                    : departments.put(employee.getDepartment(), members);
+        }
+    }
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    public Snapshot hire(Employee employee) {
+        return update(snapshot -> snapshot.hire(employee));
+    }
+
+    public Snapshot transfer(String name, String department) {
+        return update(snapshot -> snapshot.transfer(name, department));
+    }
+
+    public Snapshot leave(String name) {
+        return update(snapshot -> snapshot.leave(name));
+    }
+
+    private Snapshot update(UnaryOperator<Snapshot> change) {
+        while (true) {
+            Snapshot snapshot = current.get();
+            Snapshot next = change.apply(snapshot);
+            if (current.compareAndSet(snapshot, next)) return next;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package practice;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 아이템별 시간 구간 매출 집계.
+ * 아이템마다 bucketCount 칸짜리 시간 버킷 링을 미리 만들어 두고, 이벤트 하나는 자기 버킷에 O(1) 로 더한다.
+ * 구간 조회는 버킷 단위로 잘려서 O(버킷 수) 이고, 아이템당 메모리는 bucketCount * 24 바이트로 고정이다.
+ * 금액은 scale 자리까지 반올림한 long 으로 저장한다.
+ *
+ * 지금까지 본 가장 늦은 이벤트 시각(watermark) 보다 allowedLateness 넘게 늦은 이벤트는 버린다.
+ * allowedLateness + bucketSize <= bucketSize * bucketCount 여야 허용 범위 안의 이벤트가 항상 살아 있는 버킷에 들어간다.
+ * 같은 아이템에 대한 갱신/조회만 서로 잠그므로 생산자가 여러 스레드여도 된다.
+ */
+public class SalesWindowAggregator {
+
+    public record WindowTotal(long count, BigDecimal amount) {
+    }
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long allowedLatenessMillis;
+    private final int scale;
+    private final ConcurrentHashMap<String, Series> series = new ConcurrentHashMap<>();
+    private final AtomicLong watermark = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SalesWindowAggregator(Duration bucketSize, int bucketCount, Duration allowedLateness) {
+        this(bucketSize, bucketCount, allowedLateness, 2);
+    }
+
+    public SalesWindowAggregator(Duration bucketSize, int bucketCount, Duration allowedLateness, int scale) {
+        if (bucketSize.toMillis() < 1) throw new IllegalArgumentException("bucket size must be at least 1ms: " + bucketSize);
+        if (bucketCount < 1) throw new IllegalArgumentException("bucket count must be positive: " + bucketCount);
+        // watermark 와 허용 범위 끝의 버킷 차이가 bucketCount - 1 이하여야 늦은 이벤트의 칸을 새 구간이 덮어쓰지 않는다
+        if (allowedLateness.isNegative()
+                || allowedLateness.toMillis() + bucketSize.toMillis() > bucketSize.toMillis() * bucketCount) {
+            throw new IllegalArgumentException("allowed lateness must leave one bucket of the ring span: " + allowedLateness);
+        }
+        this.bucketMillis = bucketSize.toMillis();
+        this.bucketCount = bucketCount;
+        this.allowedLatenessMillis = allowedLateness.toMillis();
+        this.scale = scale;
+    }
+
+    // 너무 늦어서 버렸으면 false
+    public boolean record(PurchaseEvent event) {
+        long timestamp = event.timestampMillis();
+        long mark = watermark.accumulateAndGet(timestamp, Math::max);
+        if (timestamp < mark - allowedLatenessMillis) {
+            dropped.incrementAndGet();
+            return false;
+        }
+
+        long amount = event.value().setScale(scale, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        boolean accepted = series.computeIfAbsent(event.item(), item -> new Series(bucketCount))
+                .add(Math.floorDiv(timestamp, bucketMillis), amount);
+        if (!accepted) dropped.incrementAndGet();
+        return accepted;
+    }
+
+    // (nowMillis - window, nowMillis] 를 포함하는 버킷들의 합계
+    public WindowTotal sliding(String item, long nowMillis, Duration window) {
+        int buckets = bucketsFor(window);
+        long last = Math.floorDiv(nowMillis, bucketMillis);
+        return sum(item, last - buckets + 1, last);
+    }
+
+    // size 단위로 정렬된 구간 중 timestampMillis 가 속한 구간의 합계
+    public WindowTotal tumbling(String item, long timestampMillis, Duration size) {
+        int buckets = bucketsFor(size);
+        if (size.toMillis() % bucketMillis != 0) {
+            throw new IllegalArgumentException("tumbling window must be a multiple of the bucket size: " + size);
+        }
+        long first = Math.floorDiv(Math.floorDiv(timestampMillis, bucketMillis), buckets) * buckets;
+        return sum(item, first, first + buckets - 1);
+    }
+
+    public Set<String> items() {
+        return series.keySet();
+    }
+
+    public long droppedEvents() {
+        return dropped.get();
+    }
+
+    public long watermark() {
+        return watermark.get();
+    }
+
+    private int bucketsFor(Duration window) {
+        long buckets = (window.toMillis() + bucketMillis - 1) / bucketMillis;
+        if (buckets < 1 || buckets > bucketCount) {
+            throw new IllegalArgumentException("window must span 1.." + bucketCount + " buckets: " + window);
+        }
+        return (int) buckets;
+    }
+
+    private WindowTotal sum(String item, long firstEpoch, long lastEpoch) {
+        Series target = series.get(item);
+        if (target == null) return new WindowTotal(0, BigDecimal.ZERO.setScale(scale));
+
+        long[] total = target.sum(firstEpoch, lastEpoch);
+        return new WindowTotal(total[0], BigDecimal.valueOf(total[1], scale));
+    }
+
+    private static final class Series {
+        private final long[] epochs;
+        private final long[] counts;
+        private final long[] amounts;
+
+        Series(int bucketCount) {
+            epochs = new long[bucketCount];
+            counts = new long[bucketCount];
+            amounts = new long[bucketCount];
+            Arrays.fill(epochs, Long.MIN_VALUE);
+        }
+
+        synchronized boolean add(long epoch, long amount) {
+            int slot = (int) Math.floorMod(epoch, (long) epochs.length);
+            if (epochs[slot] > epoch) return false; // 링이 이미 더 최근 구간으로 넘어감
+            if (epochs[slot] < epoch) {
+                epochs[slot] = epoch;
+                counts[slot] = 0;
+                amounts[slot] = 0;
+            }
+            counts[slot]++;
+            amounts[slot] += amount;
+            return true;
+        }
+
+        synchronized long[] sum(long firstEpoch, long lastEpoch) {
+            long count = 0;
+            long amount = 0;
+            for (long epoch = firstEpoch; epoch <= lastEpoch; epoch++) {
+                int slot = (int) Math.floorMod(epoch, (long) epochs.length);
+                if (epochs[slot] == epoch) {
+                    count += counts[slot];
+                    amount += amounts[slot];
+                }
+            }
+            return new long[]{count, amount};
+        }
+    }
+}
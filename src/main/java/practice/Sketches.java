@@ -0,0 +1,41 @@
+package practice;
+
+import java.util.stream.Collector;
+
+// toSet().size() 대신 쓰는 고정 메모리 근사 집계 collector 모음
+public class Sketches {
+
+    public static Collector<Employee, HyperLogLog, HyperLogLog> distinctNames(int precision) {
+        return HyperLogLog.collector(Employee::getName, precision);
+    }
+
+    public static Collector<PurchaseItem, HyperLogLog, HyperLogLog> distinctItems(int precision) {
+        return HyperLogLog.collector(PurchaseItem::getItem, precision);
+    }
+
+    public static Collector<Employee, BloomFilter, BloomFilter> nameFilter(long expectedInsertions, double falsePositiveRate) {
+        return BloomFilter.collector(Employee::getName, expectedInsertions, falsePositiveRate);
+    }
+
+    public static Collector<PurchaseItem, BloomFilter, BloomFilter> itemFilter(long expectedInsertions, double falsePositiveRate) {
+        return BloomFilter.collector(PurchaseItem::getItem, expectedInsertions, falsePositiveRate);
+    }
+
+    // 문자 단위 FNV-1a 후 murmur3 finalizer 로 섞은 64비트 해시
+    static long hash64(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix64(h ^ value.length());
+    }
+
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,185 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * 핫패스의 호출당 할당 바이트를 스레드 단위로 재서 예산을 넘으면 실패시킨다.
+ * JIT 가 충분히 컴파일한 뒤의 값을 보기 위해 워밍업 후 여러 라운드 중 가장 작은 값을 쓴다.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    @FunctionalInterface
+    private interface Call {
+        long run(int i);
+    }
+
+    private static double bytesPerCall(Call call) {
+        assertTrue(THREADS.isThreadAllocatedMemorySupported(), "thread allocation accounting is not supported");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += call.run(i);
+        }
+
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long overheadStart = THREADS.getThreadAllocatedBytes(threadId);
+            long overhead = THREADS.getThreadAllocatedBytes(threadId) - overheadStart;
+
+            long start = THREADS.getThreadAllocatedBytes(threadId);
+            long acc = 0;
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                acc += call.run(i);
+            }
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - start - overhead;
+            sink += acc;
+
+            best = Math.min(best, Math.max(0, allocated) / (double) MEASURED_CALLS);
+            if (best == 0) break;
+        }
+        return best;
+    }
+
+    // 객체 헤더 16바이트 + 참조 필드 8바이트씩 (compressed oops/class pointer 를 끈 가장 큰 레이아웃)
+    private static long objectBytesUpperBound(int referenceFields, int primitiveBytes) {
+        return (16 + 8L * referenceFields + primitiveBytes + 7) & ~7L;
+    }
+
+    // Color: value, falpha + frgbvalue, fvalue, cs
+    private static final long COLOR_BYTES = objectBytesUpperBound(3, 8);
+    // BigDecimal: scale, precision, intCompact + intVal, stringCache
+    private static final long BIG_DECIMAL_BYTES = objectBytesUpperBound(2, 16);
+    // PurchaseItem 과 그 빌더: item, value
+    private static final long PURCHASE_ITEM_BYTES = objectBytesUpperBound(2, 0);
+
+    // String 객체 (compressed oops 를 꺼도 32바이트 이하) + byte[] (헤더 24바이트 이하, CompactStrings 를 끄면 글자당 2바이트)
+    private static long stringBytesUpperBound(int length) {
+        return 32 + ((24 + 2L * length + 7) & ~7L);
+    }
+
+    private static void assertBudget(String path, double budgetBytesPerCall, Call call) {
+        double measured = bytesPerCall(call);
+        System.out.printf("%s: %.3f bytes/call (budget %.2f)%n", path, measured, budgetBytesPerCall);
+        assertTrue(measured <= budgetBytesPerCall,
+                path + " allocates " + measured + " bytes/call, budget is " + budgetBytesPerCall);
+    }
+
+    @Test
+    void Operator_operate는_할당하지_않는다() {
+        Operator plus = (x, y) -> x + y;
+        Operator multiply = (x, y) -> x * y;
+
+        assertBudget("Operator.operate", 0.01, i -> plus.operate(i, 3) + multiply.operate(i, 7));
+    }
+
+    @Test
+    void PurchaseItemUtil_predicate는_할당하지_않는다() {
+        Predicate<PurchaseItem> selector = PurchaseItemUtil.itemSelector("bread");
+        PurchaseItem[] items = {
+                new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+                new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+                new PurchaseItem("milk", BigDecimal.valueOf(1200))
+        };
+
+        assertBudget("PurchaseItemUtil.itemSelector", 0.01, i -> selector.test(items[i % items.length]) ? 1 : 0);
+    }
+
+    @Test
+    void 메모_모드_Camera_capture는_캐시_히트에서_할당하지_않는다() {
+        Function<Color, Color> brighter = Color::brighter;
+        Function<Color, Color> darker = Color::darker;
+        Camera camera = new Camera();
+        camera.setFilters(List.of(brighter, brighter, darker));
+        camera.enableMemo(256);
+
+        Color[] palette = new Color[64];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = new Color(i * 4, 255 - i * 3, i * 2);
+        }
+
+        assertBudget("Camera.capture (memo hit)", 0.01, i -> camera.capture(palette[i & 63]).getRGB());
+        assertBudget("Camera.captureRgb (memo hit)", 0.01, i -> camera.captureRgb(palette[i & 63].getRGB()));
+    }
+
+    @Test
+    void Camera_capture는_필터당_Color_하나_이하로_할당한다() {
+        Function<Color, Color> brighter = Color::brighter;
+        Function<Color, Color> darker = Color::darker;
+        Camera camera = new Camera();
+        camera.setFilters(List.of(brighter, brighter, darker));
+        Color input = new Color(10, 12, 14);
+
+        // 필터 3개
+        assertBudget("Camera.capture", 3 * COLOR_BYTES, i -> camera.capture(input).getRGB());
+    }
+
+    @Test
+    void 합쳐진_데코레이터는_결과_String_과_그_배열만_할당한다() {
+        Decorator decorator = Decorator.chain(List.of(
+                Decorator.wrap("**", "**"), Decorator.wrap("--", "--"), Decorator.wrap("__", "__")));
+        StringBuilder out = new StringBuilder(64);
+
+        // 중간 String ("__americano__" 등) 이 하나라도 생기면 넘는다
+        int length = decorator.apply("americano").length();
+        assertBudget("Decorator.apply (fused)", stringBytesUpperBound(length), i -> decorator.apply("americano").length());
+        assertBudget("Decorator.appendTo (fused)", 0.01, i -> {
+            out.setLength(0);
+            return decorator.appendTo(out, "americano").length();
+        });
+    }
+
+    private static final List<PurchaseItem> CART = List.of(
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200)),
+            new PurchaseItem("serial", BigDecimal.valueOf(2500))
+    );
+
+    @Test
+    void 합성한_할인_필터는_할인마다_BigDecimal_두_개와_PurchaseItem_만_할당한다() {
+        List<Function<PurchaseItem, PurchaseItem>> discounts = List.of(
+                DiscountFilter.discount(BigDecimal.valueOf(0.1)), DiscountFilter.discount(BigDecimal.valueOf(0.05)));
+        Function<PurchaseItem, PurchaseItem> composed = DiscountFilter.totalDiscount(discounts);
+
+        // 할인 하나마다 multiply + subtract 결과, 빌더와 새 PurchaseItem
+        long perDiscount = 2 * BIG_DECIMAL_BYTES + 2 * PURCHASE_ITEM_BYTES;
+        assertBudget("DiscountFilter.totalDiscount", CART.size() * discounts.size() * perDiscount, i -> {
+            long scale = 0;
+            for (PurchaseItem item : CART) {
+                scale += composed.apply(item).getValue().scale();
+            }
+            return scale;
+        });
+    }
+
+    @Test
+    void 결정_테이블_일괄_할인은_줄당_BigDecimal_연산만_할당한다() {
+        DiscountTable table = DiscountTable.builder()
+                .forAll(CustomerTier.MEMBER, BigDecimal.valueOf(0.1))
+                .forAll(CustomerTier.VIP, BigDecimal.valueOf(0.05))
+                .forItem("bread", CustomerTier.VIP, BigDecimal.valueOf(0.2))
+                .build();
+
+        // 줄마다 multiply + add 결과 BigDecimal 두 개 (BigInteger 없이 long 으로 표현되는 범위)
+        assertBudget("DiscountTable.total", CART.size() * 2 * BIG_DECIMAL_BYTES, i -> table.total(CustomerTier.VIP, CART).scale());
+    }
+}
@@ -0,0 +1,146 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CameraMemoTest {
+
+    private static final Function<Color, Color> brighter = Color::brighter;
+    private static final Function<Color, Color> darker = Color::darker;
+
+    @Test
+    void 메모_모드에서도_같은_결과() {
+        Camera plain = new Camera();
+        Camera memo = new Camera();
+        plain.setFilters(List.of(brighter, brighter, darker));
+        memo.setFilters(List.of(brighter, brighter, darker));
+        memo.enableMemo(1024);
+
+        for (int rgb = 0; rgb < 0xffffff; rgb += 0x010305) {
+            Color input = new Color(rgb);
+            assertEquals(plain.capture(input), memo.capture(input));
+            assertEquals(plain.captureRgb(input.getRGB()), memo.captureRgb(input.getRGB()));
+        }
+        assertEquals(new Color(14, 15, 17), memo.capture(new Color(10, 12, 14)));
+    }
+
+    @Test
+    void 반복되는_색은_필터를_다시_적용하지_않는다() {
+        AtomicInteger calls = new AtomicInteger();
+        Camera camera = new Camera();
+        camera.setFilters(List.of(color -> {
+            calls.incrementAndGet();
+            return color.darker();
+        }));
+        camera.enableMemo(64);
+
+        Color first = camera.capture(new Color(100, 150, 200));
+        Color second = camera.capture(new Color(100, 150, 200));
+        camera.captureRgb(new Color(100, 150, 200).getRGB());
+
+        assertEquals(1, calls.get());
+        assertSame(first, second);
+
+        ColorMemo.Stats stats = camera.memoStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void 크기가_제한되고_넘치면_교체된다() {
+        Camera camera = new Camera();
+        camera.setFilters(List.of(darker));
+        camera.enableMemo(10);
+
+        for (int rgb = 0; rgb < 10_000; rgb++) {
+            Color input = new Color(rgb);
+            assertEquals(input.darker(), camera.capture(input));
+            assertTrue(camera.memoStats().size() <= 10);
+        }
+
+        ColorMemo.Stats stats = camera.memoStats();
+        assertEquals(10, stats.size());
+        assertEquals(10, stats.capacity());
+        assertTrue(stats.evictions() > 0);
+
+        // 교체된 뒤에도 결과는 필터와 같다
+        for (int rgb = 0; rgb < 10_000; rgb += 7) {
+            Color input = new Color(rgb);
+            assertEquals(input.darker(), camera.capture(input));
+        }
+        assertEquals(10, camera.memoStats().size());
+    }
+
+    @Test
+    void 투명한_색은_캐시하지_않는다() {
+        Camera camera = new Camera();
+        camera.setFilters(List.of(darker));
+        camera.enableMemo(16);
+
+        Color translucent = new Color(10, 20, 30, 128);
+        assertEquals(translucent.darker(), camera.capture(translucent));
+        assertEquals(1, camera.memoStats().bypassed());
+        assertEquals(0, camera.memoStats().size());
+    }
+
+    @Test
+    void 필터를_바꾸면_캐시도_새로_만든다() {
+        Camera camera = new Camera();
+        camera.setFilters(List.of(darker));
+        camera.enableMemo(16);
+        Color input = new Color(100, 100, 100);
+        assertEquals(input.darker(), camera.capture(input));
+
+        camera.setFilters(List.of(brighter));
+        assertEquals(input.brighter(), camera.capture(input));
+        assertEquals(0, camera.memoStats().hits());
+
+        camera.disableMemo();
+        assertNull(camera.memoStats());
+        assertEquals(input.brighter(), camera.capture(input));
+    }
+
+    @Test
+    void 여러_스레드가_교체하는_중에도_다른_색의_결과를_돌려주지_않는다() throws Exception {
+        Camera camera = new Camera();
+        camera.setFilters(List.of(brighter, darker));
+        camera.enableMemo(10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> captures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int seed = t;
+            captures.add(executor.submit(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    int rgb = ((i * 31 + seed) % 64) * 0x030507;
+                    Color input = new Color(rgb);
+                    assertEquals(input.darker().brighter().getRGB(), camera.captureRgb(input.getRGB()));
+                    assertEquals(input.darker().brighter(), camera.capture(input));
+                }
+            }));
+        }
+        for (Future<?> capture : captures) {
+            capture.get();
+        }
+        executor.shutdown();
+
+        ColorMemo.Stats stats = camera.memoStats();
+        assertTrue(stats.size() <= 10);
+        assertTrue(stats.evictions() > 0);
+    }
+}
@@ -0,0 +1,142 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CheckoutLoadGeneratorTest {
+
+    @Test
+    void 백분위수_구하기() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long i = 1000; i >= 1; i--) {
+            recorder.record(i);
+        }
+
+        assertEquals(1000, recorder.count());
+        assertEquals(100, recorder.percentile(10));
+        assertWithin(500, recorder.percentile(50));
+        assertWithin(990, recorder.percentile(99));
+        assertWithin(999, recorder.percentile(99.9));
+        assertEquals(1000, recorder.percentile(100));
+        assertEquals(1000, recorder.max());
+    }
+
+    @Test
+    void 히스토그램은_버킷을_더해서_합친다() {
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        for (long i = 1; i <= 100_000; i++) {
+            (i % 2 == 0 ? first : second).record(i * 1_000);
+        }
+        second.record(Long.MAX_VALUE);
+
+        first.addAll(second);
+
+        assertEquals(100_001, first.count());
+        assertWithin(50_000_000, first.percentile(50));
+        assertWithin(99_000_000, first.percentile(99));
+        assertWithin(99_900_000, first.percentile(99.9));
+        assertEquals(Long.MAX_VALUE, first.percentile(100));
+    }
+
+    @Test
+    void 여러_클라이언트가_하나의_히스토그램을_같이_쓴다() throws Exception {
+        LatencyRecorder shared = new LatencyRecorder();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> clients = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            clients.add(executor.submit(() -> {
+                for (long i = 1; i <= 100_000; i++) {
+                    shared.record(i);
+                }
+            }));
+        }
+        for (Future<?> client : clients) {
+            client.get();
+        }
+        executor.shutdown();
+
+        assertEquals(400_000, shared.count());
+        assertWithin(50_000, shared.percentile(50));
+        assertEquals(100_000, shared.max());
+    }
+
+    // 로그 버킷의 상대 오차 (1/128) 안쪽인지
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 128.0, expected + " vs " + actual);
+    }
+
+    @Test
+    void 장바구니_크기_분포_파싱() {
+        SplittableRandom random = new SplittableRandom(42);
+
+        assertEquals(5, CartSizeDistribution.parse("fixed:5").next(random));
+
+        CartSizeDistribution uniform = CartSizeDistribution.parse("uniform:2-4");
+        CartSizeDistribution geometric = CartSizeDistribution.parse("geometric:3");
+        for (int i = 0; i < 1000; i++) {
+            int size = uniform.next(random);
+            assertTrue(size >= 2 && size <= 4);
+            assertTrue(geometric.next(random) >= 1);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> CartSizeDistribution.parse("normal:3"));
+    }
+
+    @Test
+    void 등급별_장바구니_계산() {
+        String[] cart = {"cookie", "bread", "milk"};
+
+        assertEquals(BigDecimal.valueOf(7200), CheckoutLoadGenerator.checkout(cart, false, false));
+        assertEquals(BigDecimal.valueOf(6480), CheckoutLoadGenerator.checkout(cart, true, false).setScale(0));
+        assertEquals(BigDecimal.valueOf(6156), CheckoutLoadGenerator.checkout(cart, true, true).setScale(0));
+    }
+
+    @Test
+    void 짧은_부하_실행_후_파일로_내보내기() throws IOException {
+        CheckoutLoadGenerator.Config config = CheckoutLoadGenerator.Config.parse(
+                "--clients=2", "--threads=platform", "--cart=uniform:1-5", "--warmup=50ms", "--duration=200ms", "--label=test");
+
+        CheckoutLoadGenerator.Result result = CheckoutLoadGenerator.run(config);
+        System.out.println(result);
+
+        assertTrue(result.operations() > 0);
+        assertTrue(result.p50Nanos() <= result.p99Nanos());
+        assertTrue(result.p99Nanos() <= result.p999Nanos());
+        assertTrue(result.p999Nanos() <= result.maxNanos());
+        assertTrue(result.throughput() > 0);
+
+        Path output = Files.createTempFile("checkout-load", ".csv");
+        Files.delete(output);
+        CheckoutLoadGenerator.export(result, output);
+        CheckoutLoadGenerator.export(result, output);
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("label,"));
+        assertTrue(lines.get(1).startsWith("test,"));
+        Files.delete(output);
+    }
+
+    @Test
+    void 잘못된_옵션은_거부() {
+        assertThrows(IllegalArgumentException.class, () -> CheckoutLoadGenerator.Config.parse("--clients=0"));
+        assertThrows(IllegalArgumentException.class, () -> CheckoutLoadGenerator.Config.parse("--speed=fast"));
+        assertEquals(Duration.ofMillis(250), CheckoutLoadGenerator.Config.parse("--duration=250ms").duration());
+    }
+}
@@ -0,0 +1,73 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DepartmentStatsTest {
+
+    @Test
+    void 부서별_통계를_한번에_구하기() {
+        List<Employee> employees = List.of(
+                new Employee("jack", "sales", 25),
+                new Employee("sam", "sales", 41),
+                new Employee("dean", "development", 33),
+                new Employee("mary", "sales", 29),
+                new Employee("simon", "development", 120));
+
+        Map<String, DepartmentStats> stats = employees.stream().collect(DepartmentStats.byDepartment());
+
+        DepartmentStats sales = stats.get("sales");
+        assertEquals(3, sales.getCount());
+        assertEquals(25, sales.getMin());
+        assertEquals(41, sales.getMax());
+        assertEquals(95 / 3.0, sales.getMean(), 1e-9);
+        assertEquals(2, sales.bucket(2));
+        assertEquals(1, sales.bucket(4));
+
+        DepartmentStats development = stats.get("development");
+        assertEquals(2, development.getCount());
+        assertEquals(1, development.bucket(9)); // 90 이상은 마지막 구간
+    }
+
+    @Test
+    void 병렬_스트림에서도_groupingBy_결과와_같다() {
+        Random random = new Random(7);
+        String[] departments = {"sales", "development", "hr", "finance"};
+        List<Employee> employees = IntStream.range(0, 200_000)
+                .mapToObj(i -> new Employee("e" + i, departments[random.nextInt(departments.length)], 18 + random.nextInt(50)))
+                .toList();
+
+        Map<String, DepartmentStats> stats = employees.parallelStream().collect(DepartmentStats.byDepartment(5, 20));
+        Map<String, IntSummaryStatistics> expected = employees.stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.summarizingInt(Employee::getAge)));
+
+        assertEquals(expected.keySet(), stats.keySet());
+        expected.forEach((department, summary) -> {
+            DepartmentStats actual = stats.get(department);
+            assertEquals(summary.getCount(), actual.getCount());
+            assertEquals(summary.getMin(), actual.getMin());
+            assertEquals(summary.getMax(), actual.getMax());
+            assertEquals(summary.getAverage(), actual.getMean(), 1e-9);
+
+            long[] histogram = new long[20];
+            employees.stream().filter(e -> e.getDepartment().equals(department))
+                    .forEach(e -> histogram[Math.min(e.getAge() / 5, 19)]++);
+            assertArrayEquals(histogram, actual.getHistogram());
+        });
+    }
+
+    @Test
+    void 구간이_다르면_합칠_수_없다() {
+        assertThrows(IllegalArgumentException.class, () -> new DepartmentStats(10, 10).merge(new DepartmentStats(5, 10)));
+    }
+}
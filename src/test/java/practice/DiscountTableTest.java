@@ -0,0 +1,147 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DiscountTableTest {
+
+    private static final List<PurchaseItem> PURCHASE_LIST = List.of(
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("serial", BigDecimal.valueOf(2500)),
+            new PurchaseItem("hambuger", BigDecimal.valueOf(1530)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200))
+    );
+
+    private static DiscountTable memberAndVip() {
+        return DiscountTable.builder()
+                .forAll(CustomerTier.MEMBER, BigDecimal.valueOf(0.1))
+                .forAll(CustomerTier.VIP, BigDecimal.valueOf(0.05))
+                .build();
+    }
+
+    @Test
+    void compose_결과와_같은_금액() {
+        DiscountTable table = memberAndVip();
+
+        assertEquals(BigDecimal.valueOf(27430.00).setScale(2), table.total(CustomerTier.GUEST, PURCHASE_LIST).setScale(2));
+        assertEquals(BigDecimal.valueOf(24687.00).setScale(2), table.total(CustomerTier.MEMBER, PURCHASE_LIST).setScale(2));
+        assertEquals(BigDecimal.valueOf(23452.65).setScale(2), table.total(CustomerTier.VIP, PURCHASE_LIST).setScale(2));
+
+        Function<PurchaseItem, PurchaseItem> composed = DiscountFilter.totalDiscount(List.of(
+                DiscountFilter.discount(BigDecimal.valueOf(0.1)), DiscountFilter.discount(BigDecimal.valueOf(0.05))));
+        for (PurchaseItem item : PURCHASE_LIST) {
+            assertEquals(0, composed.apply(item).getValue().compareTo(table.apply(CustomerTier.VIP, item).getValue()));
+        }
+    }
+
+    @Test
+    void 아이템과_카테고리별_규칙() {
+        DiscountTable table = memberAndVip().toBuilder()
+                .category("bread", "bakery")
+                .category("cookie", "bakery")
+                .forCategory("bakery", CustomerTier.MEMBER, BigDecimal.valueOf(0.2))
+                .forItem("milk", CustomerTier.GUEST, BigDecimal.valueOf(0.5))
+                .build();
+
+        int bread = table.itemId("bread");
+        int milk = table.itemId("milk");
+        int serial = table.itemId("serial");
+
+        assertTrue(bread >= 0);
+        assertEquals(-1, serial);
+        assertEquals(0, BigDecimal.valueOf(4500).compareTo(table.price(CustomerTier.GUEST, bread, BigDecimal.valueOf(4500))));
+        assertEquals(0, BigDecimal.valueOf(3240).compareTo(table.price(CustomerTier.MEMBER, bread, BigDecimal.valueOf(4500))));
+        assertEquals(0, BigDecimal.valueOf(600).compareTo(table.price(CustomerTier.GUEST, milk, BigDecimal.valueOf(1200))));
+        assertEquals(0, BigDecimal.valueOf(2250).compareTo(table.price(CustomerTier.MEMBER, serial, BigDecimal.valueOf(2500))));
+    }
+
+    @Test
+    void 잘못된_할인율은_거부() {
+        assertThrows(IllegalArgumentException.class,
+                () -> DiscountTable.builder().forAll(CustomerTier.VIP, BigDecimal.valueOf(1.5)));
+    }
+
+    @Test
+    void 규칙을_바꿔도_아이템_id_는_그대로다() {
+        DiscountEngine engine = new DiscountEngine(DiscountTable.builder()
+                .forItem("milk", CustomerTier.GUEST, BigDecimal.valueOf(0.3))
+                .category("bread", "bakery")
+                .category("cookie", "bakery")
+                .forCategory("bakery", CustomerTier.VIP, BigDecimal.valueOf(0.2))
+                .build());
+        int milk = engine.table().itemId("milk");
+        int bread = engine.table().itemId("bread");
+        int cookie = engine.table().itemId("cookie");
+
+        engine.update(b -> b.forItem("serial", CustomerTier.GUEST, BigDecimal.valueOf(0.5))
+                .forItem("cookie", CustomerTier.GUEST, BigDecimal.valueOf(0.1))
+                .category("hambuger", "deli"));
+        DiscountTable updated = engine.table();
+
+        assertEquals(milk, updated.itemId("milk"));
+        assertEquals(bread, updated.itemId("bread"));
+        assertEquals(cookie, updated.itemId("cookie"));
+        assertEquals(0, BigDecimal.valueOf(700).compareTo(updated.price(CustomerTier.GUEST, milk, BigDecimal.valueOf(1000))));
+        assertEquals(0, BigDecimal.valueOf(900).compareTo(updated.price(CustomerTier.GUEST, cookie, BigDecimal.valueOf(1000))));
+        assertEquals(0, BigDecimal.valueOf(800).compareTo(updated.price(CustomerTier.VIP, bread, BigDecimal.valueOf(1000))));
+
+        // 규칙이 빠진 아이템도 id 는 남고 기본 할인만 받는다
+        DiscountTable cleared = updated.toBuilder().clearRules().build();
+        assertEquals(milk, cleared.itemId("milk"));
+        assertEquals(0, BigDecimal.valueOf(1000).compareTo(cleared.price(CustomerTier.GUEST, milk, BigDecimal.valueOf(1000))));
+    }
+
+    @Test
+    void 가격_계산_중에도_규칙을_원자적으로_교체() throws Exception {
+        DiscountEngine engine = new DiscountEngine(memberAndVip());
+        BigDecimal before = engine.total(CustomerTier.VIP, PURCHASE_LIST);
+        BigDecimal after = PURCHASE_LIST.stream().map(PurchaseItem::getValue).reduce(BigDecimal.ZERO, BigDecimal::add)
+                .multiply(BigDecimal.valueOf(0.5));
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(executor.submit(() -> {
+                while (running.get()) {
+                    BigDecimal total = engine.total(CustomerTier.VIP, PURCHASE_LIST);
+                    // 반쯤 바뀐 테이블은 보이지 않아야 한다
+                    assertTrue(total.compareTo(before) == 0 || total.compareTo(after) == 0, "torn total: " + total);
+                }
+            }));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            engine.update(b -> b.clearRules().forAll(CustomerTier.GUEST, BigDecimal.valueOf(0.5)));
+            engine.publish(memberAndVip());
+        }
+        engine.update(b -> b.clearRules().forAll(CustomerTier.GUEST, BigDecimal.valueOf(0.5)));
+        running.set(false);
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+
+        assertEquals(0, after.compareTo(engine.total(CustomerTier.VIP, PURCHASE_LIST)));
+    }
+}
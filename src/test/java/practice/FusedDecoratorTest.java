@@ -0,0 +1,124 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FusedDecoratorTest {
+
+    @Test
+    void compose한_감싸기는_prefix_suffix_한쌍으로_합쳐진다() {
+        Decorator decoStar = Decorator.wrap("**", "**");
+        Decorator decoDash = Decorator.wrap("--", "--");
+        Decorator decoUnderscore = Decorator.wrap("__", "__");
+
+        Decorator decorators = Decorator.chain(List.of(decoStar, decoDash, decoUnderscore));
+
+        assertTrue(decorators.isFused());
+        assertEquals("**--__", decorators.prefix());
+        assertEquals("__--**", decorators.suffix());
+        assertEquals("**--__americano__--**", Optional.of("americano").map(decorators).get());
+    }
+
+    @Test
+    void Function_compose와_같은_결과() {
+        Function<String, String> decoStar = prod -> "**" + prod + "**";
+        Function<String, String> decoDash = prod -> "--" + prod + "--";
+        Function<String, String> decoUnderscore = prod -> "__" + prod + "__";
+        Function<String, String> composed = Stream.of(decoStar, decoDash, decoUnderscore)
+                .reduce((acc, next) -> acc.compose(next)).orElse(string -> string);
+
+        Decorator fused = Decorator.wrap("**", "**")
+                .compose(Decorator.wrap("--", "--"))
+                .compose(Decorator.wrap("__", "__"));
+
+        assertEquals(composed.apply("americano"), fused.apply("americano"));
+        assertEquals(composed.apply(""), fused.apply(""));
+    }
+
+    @Test
+    void Function_타입으로_reduce해도_합쳐진다() {
+        Function<String, String> decoStar = Decorator.wrap("**", "**");
+        Function<String, String> decoDash = Decorator.wrap("--", "--");
+        Function<String, String> decoUnderscore = Decorator.wrap("__", "__");
+
+        Function<String, String> composed = Stream.of(decoStar, decoDash, decoUnderscore)
+                .reduce((acc, next) -> acc.compose(next)).orElse(string -> string);
+
+        assertTrue(composed instanceof Decorator);
+        assertTrue(((Decorator) composed).isFused());
+        assertEquals("**--__americano__--**", composed.apply("americano"));
+
+        Function<String, String> reversed = Stream.of(decoStar, decoDash, decoUnderscore)
+                .reduce((acc, next) -> acc.andThen(next)).orElse(string -> string);
+        assertTrue(reversed instanceof Decorator);
+        assertEquals("__--**americano**--__", reversed.apply("americano"));
+    }
+
+    @Test
+    void Decorator_가_아닌_함수는_기본_합성을_따른다() {
+        Decorator star = Decorator.wrap("*", "*");
+
+        Function<Integer, String> number = star.compose((Integer i) -> "n" + i);
+        assertEquals("*n5*", number.apply(5));
+
+        Function<String, String> upper = star.compose(s -> s.toUpperCase());
+        assertFalse(upper instanceof Decorator);
+        assertEquals("*LATTE*", upper.apply("latte"));
+
+        Function<String, Integer> length = star.andThen(String::length);
+        assertEquals(7, length.apply("latte"));
+    }
+
+    @Test
+    void Decorator_of로_감싼_람다는_Fallback_단계가_된다() {
+        Decorator upper = Decorator.wrap("*", "*").compose(Decorator.of(s -> s.toUpperCase()));
+
+        assertFalse(upper.isFused());
+        assertEquals("*LATTE*", upper.apply("latte"));
+        assertEquals("[*LATTE*]", Decorator.wrap("[", "]").compose(upper).apply("latte"));
+    }
+
+    @Test
+    void 임의의_Function도_단계로_받는다() {
+        Function<String, String> upper = String::toUpperCase;
+        Decorator decorator = Decorator.chain(List.of(Decorator.wrap("[", "]"), upper, Decorator.wrap("<", ">"), Decorator.wrap("(", ")")));
+
+        assertFalse(decorator.isFused());
+        assertEquals("[<(LATTE)>]", decorator.apply("latte"));
+        assertThrows(IllegalStateException.class, decorator::prefix);
+        assertEquals("menu: [<(LATTE)>]", decorator.appendTo(new StringBuilder("menu: "), "latte").toString());
+    }
+
+    @Test
+    void 호출한_쪽의_버퍼에_바로_쓰기() {
+        Decorator decorator = Decorator.wrap("**", "**").andThen(Decorator.wrap("--", "--"));
+        StringBuilder out = new StringBuilder(64);
+
+        for (String product : List.of("americano", "latte")) {
+            out.setLength(0);
+            decorator.appendTo(out, product);
+            assertEquals(decorator.apply(product), out.toString());
+        }
+        assertEquals("--**latte**--", out.toString());
+    }
+
+    @Test
+    void 항등_데코레이터() {
+        assertSame(Decorator.identity(), Decorator.chain(List.of()));
+        assertEquals("mocha", Decorator.identity().apply("mocha"));
+
+        Decorator star = Decorator.wrap("*", "*");
+        assertSame(star, star.compose(Decorator.identity()));
+        assertSame(star, Decorator.of(star));
+    }
+}
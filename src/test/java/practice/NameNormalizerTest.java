@@ -0,0 +1,83 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class NameNormalizerTest {
+
+    private static final List<String> NAMES = List.of("matthew", "alison", "jack", "sam", "dean",
+            "Mary-Jane O'Neil", "simon_42", "", "a", "abcdefghijklmnopqrstuvwxyz{|}~`@[\\]^",
+            "straße", "Łukasz", "élodie", "김철수", "İstanbul");
+
+    @Test
+    void 대문자로_바꾸기는_toUpperCase와_같다() {
+        NameNormalizer normalizer = new NameNormalizer(NameNormalizer.Case.UPPER);
+
+        assertEquals(NAMES.stream().map(name -> name.toUpperCase(Locale.ROOT)).toList(), normalizer.normalizeAll(NAMES));
+        assertEquals(List.of("MATTHEW", "ALISON", "JACK", "SAM", "DEAN"),
+                normalizer.normalizeAll(List.of("matthew", "alison", "jack", "sam", "dean")));
+    }
+
+    @Test
+    void 소문자로_바꾸기는_toLowerCase와_같다() {
+        NameNormalizer normalizer = new NameNormalizer(NameNormalizer.Case.LOWER);
+        List<String> upper = NAMES.stream().map(name -> name.toUpperCase(Locale.ROOT)).toList();
+
+        assertEquals(upper.stream().map(name -> name.toLowerCase(Locale.ROOT)).toList(), normalizer.normalizeAll(upper));
+    }
+
+    @Test
+    void 모든_ASCII_문자를_확인한다() {
+        String all = IntStream.range(0, 128).mapToObj(c -> String.valueOf((char) c)).collect(Collectors.joining());
+
+        assertEquals(all.toUpperCase(Locale.ROOT), new NameNormalizer(NameNormalizer.Case.UPPER).normalize(all));
+        assertEquals(all.toLowerCase(Locale.ROOT), new NameNormalizer(NameNormalizer.Case.LOWER).normalize(all));
+    }
+
+    @Test
+    void 바꿀_글자가_없으면_같은_인스턴스() {
+        NameNormalizer normalizer = new NameNormalizer(NameNormalizer.Case.UPPER);
+        String name = "ALREADY UPPER 123";
+
+        assertSame(name, normalizer.normalize(name));
+    }
+
+    @Test
+    void 중복_결과는_하나의_인스턴스로_합친다() {
+        NameNormalizer normalizer = new NameNormalizer(NameNormalizer.Case.UPPER, 100);
+
+        String first = normalizer.normalize("jack");
+        String second = normalizer.normalize(new String("Jack"));
+
+        assertEquals("JACK", first);
+        assertSame(first, second);
+        assertEquals(1, normalizer.pooledCount());
+    }
+
+    @Test
+    void UTF8_배치_변환() {
+        Random random = new Random(3);
+        List<String> ascii = IntStream.range(0, 1000)
+                .mapToObj(i -> random.ints(random.nextInt(20), 32, 127)
+                        .mapToObj(c -> String.valueOf((char) c)).collect(Collectors.joining()))
+                .toList();
+        NameNormalizer normalizer = new NameNormalizer(NameNormalizer.Case.UPPER);
+
+        for (List<String> names : List.of(ascii, NAMES)) {
+            NameNormalizer.Utf8Batch result = normalizer.normalizeUtf8(NameNormalizer.Utf8Batch.pack(names));
+
+            assertEquals(names.size(), result.count());
+            for (int i = 0; i < names.size(); i++) {
+                assertEquals(names.get(i).toUpperCase(Locale.ROOT), result.name(i));
+            }
+        }
+    }
+}
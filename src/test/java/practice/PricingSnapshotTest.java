@@ -0,0 +1,102 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PricingSnapshotTest {
+
+    private static final List<PurchaseItem> PURCHASE_LIST = List.of(
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("serial", BigDecimal.valueOf(2500)),
+            new PurchaseItem("hambuger", BigDecimal.valueOf(1530)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+            new PurchaseItem("milk", BigDecimal.valueOf(1200))
+    );
+
+    private static PricingState sampleState() {
+        PricingState state = new PricingState(DiscountTable.builder()
+                .forAll(CustomerTier.MEMBER, BigDecimal.valueOf(0.1))
+                .forAll(CustomerTier.VIP, BigDecimal.valueOf(0.05))
+                .category("bread", "bakery")
+                .forCategory("bakery", CustomerTier.VIP, BigDecimal.valueOf(0.2))
+                .forItem("milk", CustomerTier.GUEST, BigDecimal.valueOf(0.3))
+                .build());
+        state.recordAll(PURCHASE_LIST);
+        return state;
+    }
+
+    @Test
+    void 저장한_상태를_그대로_복원한다() throws IOException {
+        PricingState state = sampleState();
+        Path file = Files.createTempFile("pricing", ".snapshot");
+
+        state.save(file);
+        PricingState restored = PricingState.load(file);
+
+        for (CustomerTier tier : CustomerTier.values()) {
+            assertEquals(state.discounts().total(tier, PURCHASE_LIST), restored.discounts().total(tier, PURCHASE_LIST));
+        }
+        for (PurchaseItem item : PURCHASE_LIST) {
+            assertEquals(state.discounts().table().itemId(item.getItem()), restored.discounts().table().itemId(item.getItem()));
+        }
+        assertEquals(state.totals(), restored.totals());
+        assertEquals(new PricingState.ItemTotal(4, BigDecimal.valueOf(18000)), restored.total("bread"));
+        Files.delete(file);
+    }
+
+    @Test
+    void 복원한_뒤에도_계속_갱신할_수_있다() throws IOException {
+        Path file = Files.createTempFile("pricing", ".snapshot");
+        sampleState().save(file);
+
+        PricingState restored = PricingState.load(file);
+        restored.record(new PurchaseItem("bread", BigDecimal.valueOf(4500)));
+        restored.discounts().update(rules -> rules.forItem("cookie", CustomerTier.GUEST, BigDecimal.valueOf(0.5)));
+
+        assertEquals(new PricingState.ItemTotal(5, BigDecimal.valueOf(22500)), restored.total("bread"));
+        PurchaseItem cookie = restored.discounts().apply(CustomerTier.GUEST, new PurchaseItem("cookie", BigDecimal.valueOf(1500)));
+        assertEquals(0, BigDecimal.valueOf(750).compareTo(cookie.getValue()));
+        PurchaseItem milk = restored.discounts().apply(CustomerTier.GUEST, new PurchaseItem("milk", BigDecimal.valueOf(1000)));
+        assertEquals(0, BigDecimal.valueOf(700).compareTo(milk.getValue()));
+
+        restored.save(file);
+        assertEquals(restored.totals(), PricingState.load(file).totals());
+        Files.delete(file);
+    }
+
+    @Test
+    void 손상된_스냅샷은_거부한다() throws IOException {
+        Path file = Files.createTempFile("pricing", ".snapshot");
+        sampleState().save(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x40;
+        Files.write(file, bytes);
+        IOException checksum = assertThrows(IOException.class, () -> PricingState.load(file));
+        assertTrue(checksum.getMessage().contains("checksum"));
+
+        bytes[bytes.length - 3] ^= 0x40;
+        bytes[7] = 99;
+        Files.write(file, bytes);
+        IOException version = assertThrows(IOException.class, () -> PricingState.load(file));
+        assertTrue(version.getMessage().contains("version"));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> PricingState.load(file));
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,123 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RosterTest {
+
+    @Test
+    void HAMT_맵은_HashMap과_같은_결과() {
+        Random random = new Random(31);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.remove(key);
+            } else {
+                expected.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map.asMap());
+        for (int key = 0; key < 20_000; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void 해시가_같은_키도_구분한다() {
+        // "Aa".hashCode() == "BB".hashCode()
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty()
+                .put("Aa", 1).put("BB", 2).put("C#", 3);
+
+        assertEquals(3, map.size());
+        assertEquals(1, map.get("Aa"));
+        assertEquals(2, map.get("BB"));
+
+        PersistentHashMap<String, Integer> removed = map.remove("Aa");
+        assertNull(removed.get("Aa"));
+        assertEquals(2, removed.get("BB"));
+        assertEquals(1, map.get("Aa"));
+    }
+
+    @Test
+    void 이전_버전은_바뀌지_않는다() {
+        PersistentHashMap<String, String> v1 = PersistentHashMap.<String, String>empty().put("a", "1");
+        PersistentHashMap<String, String> v2 = v1.put("b", "2");
+
+        assertEquals(Map.of("a", "1"), v1.asMap());
+        assertEquals(Map.of("a", "1", "b", "2"), v2.asMap());
+        assertSame(v2, v2.put("b", "2"));
+        assertThrows(UnsupportedOperationException.class, () -> v2.asMap().put("c", "3"));
+    }
+
+    @Test
+    void 벡터는_append와_set_후에도_이전_버전을_유지한다() {
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 100_000; i++) {
+            vector = vector.append(i);
+        }
+        PersistentVector<Integer> updated = vector.set(0, -1).set(50_000, -2).set(99_999, -3);
+
+        assertEquals(100_000, vector.size());
+        for (int i = 0; i < vector.size(); i++) {
+            assertEquals(i, vector.get(i));
+        }
+        assertEquals(-1, updated.get(0));
+        assertEquals(-2, updated.get(50_000));
+        assertEquals(-3, updated.get(99_999));
+        assertEquals(12_345, updated.get(12_345));
+
+        List<Integer> list = vector.asList();
+        assertEquals(IntStream.range(0, 100_000).boxed().toList(), list);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100_000));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(1));
+    }
+
+    @Test
+    void 명부_스냅샷은_이후_변경의_영향을_받지_않는다() {
+        Roster roster = new Roster();
+        roster.hire(new Employee("jack", "sales", 30));
+        roster.hire(new Employee("sam", "sales", 41));
+        roster.hire(new Employee("dean", "development", 28));
+
+        Roster.Snapshot before = roster.snapshot();
+
+        roster.transfer("sam", "development");
+        roster.leave("jack");
+        Roster.Snapshot after = roster.snapshot();
+
+        assertEquals(3, before.size());
+        assertEquals(2, before.department("sales").size());
+        assertEquals(Map.of("sales", 2L, "development", 1L), before.employees().values().stream()
+                .collect(Collectors.groupingBy(Employee::getDepartment, Collectors.counting())));
+
+        assertEquals(2, after.size());
+        assertFalse(after.departments().contains("sales"));
+        assertEquals("development", after.get("sam").getDepartment());
+        assertEquals(41, after.get("sam").getAge());
+        assertTrue(after.department("development").keySet().containsAll(List.of("sam", "dean")));
+        assertEquals(List.of("jack", "sam", "dean", "sam"),
+                after.history().stream().map(Employee::getName).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> roster.transfer("nobody", "sales"));
+    }
+}
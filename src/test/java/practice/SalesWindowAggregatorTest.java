@@ -0,0 +1,124 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SalesWindowAggregatorTest {
+
+    private static final long MINUTE = 60_000;
+
+    private static PurchaseEvent event(String item, long value, long timestampMillis) {
+        return new PurchaseEvent(new PurchaseItem(item, BigDecimal.valueOf(value)), timestampMillis);
+    }
+
+    // 1분 버킷 60개, 5분까지 늦은 이벤트 허용
+    private static SalesWindowAggregator aggregator() {
+        return new SalesWindowAggregator(Duration.ofMinutes(1), 60, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void 최근_5분_매출() {
+        SalesWindowAggregator aggregator = aggregator();
+        aggregator.record(event("bread", 4500, 0));
+        aggregator.record(event("bread", 4500, 3 * MINUTE));
+        aggregator.record(event("bread", 4500, 7 * MINUTE + 10));
+        aggregator.record(event("milk", 1200, 7 * MINUTE));
+
+        SalesWindowAggregator.WindowTotal lastFive = aggregator.sliding("bread", 7 * MINUTE + 30_000, Duration.ofMinutes(5));
+        assertEquals(2, lastFive.count());
+        assertEquals(BigDecimal.valueOf(900000, 2), lastFive.amount());
+
+        assertEquals(3, aggregator.sliding("bread", 7 * MINUTE, Duration.ofMinutes(10)).count());
+        assertEquals(1, aggregator.sliding("milk", 7 * MINUTE, Duration.ofMinutes(1)).count());
+        assertEquals(0, aggregator.sliding("cookie", 7 * MINUTE, Duration.ofMinutes(1)).count());
+    }
+
+    @Test
+    void 고정_구간_매출() {
+        SalesWindowAggregator aggregator = aggregator();
+        for (int minute = 0; minute < 20; minute++) {
+            aggregator.record(event("cookie", 1500, minute * MINUTE));
+        }
+
+        SalesWindowAggregator.WindowTotal second = aggregator.tumbling("cookie", 12 * MINUTE, Duration.ofMinutes(10));
+        assertEquals(10, second.count());
+        assertEquals(0, BigDecimal.valueOf(15000).compareTo(second.amount()));
+        assertThrows(IllegalArgumentException.class, () -> aggregator.tumbling("cookie", 0, Duration.ofSeconds(90)));
+    }
+
+    @Test
+    void 허용된_만큼만_늦은_이벤트를_받는다() {
+        SalesWindowAggregator aggregator = aggregator();
+        aggregator.record(event("bread", 4500, 30 * MINUTE));
+
+        assertTrue(aggregator.record(event("bread", 4500, 26 * MINUTE)));
+        assertFalse(aggregator.record(event("bread", 4500, 20 * MINUTE)));
+        assertEquals(1, aggregator.droppedEvents());
+        assertEquals(2, aggregator.sliding("bread", 30 * MINUTE, Duration.ofMinutes(10)).count());
+    }
+
+    @Test
+    void 허용_범위_끝의_이벤트도_링에서_밀려나지_않는다() {
+        // 1초 버킷 5개면 허용 지연은 4초까지
+        SalesWindowAggregator aggregator = new SalesWindowAggregator(Duration.ofSeconds(1), 5, Duration.ofMillis(4000));
+        aggregator.record(event("bread", 100, 1000));
+        aggregator.record(event("bread", 100, 5999));
+
+        assertTrue(aggregator.record(event("bread", 100, 1999)));
+        assertFalse(aggregator.record(event("bread", 100, 1998)));
+        assertEquals(1, aggregator.droppedEvents());
+        assertEquals(3, aggregator.sliding("bread", 5999, Duration.ofSeconds(5)).count());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesWindowAggregator(Duration.ofSeconds(1), 5, Duration.ofMillis(4999)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SalesWindowAggregator(Duration.ofSeconds(1), 5, Duration.ofMillis(4001)));
+    }
+
+    @Test
+    void 링을_한바퀴_돌면_오래된_버킷은_비워진다() {
+        SalesWindowAggregator aggregator = aggregator();
+        aggregator.record(event("milk", 1200, 0));
+        aggregator.record(event("milk", 1200, 60 * MINUTE));
+
+        assertEquals(1, aggregator.sliding("milk", 60 * MINUTE, Duration.ofMinutes(60)).count());
+        assertEquals(0, aggregator.sliding("milk", 0, Duration.ofMinutes(1)).count());
+        assertThrows(IllegalArgumentException.class,
+                () -> aggregator.sliding("milk", 0, Duration.ofMinutes(61)));
+    }
+
+    @Test
+    void 여러_생산자가_동시에_기록해도_합계가_맞다() throws Exception {
+        SalesWindowAggregator aggregator = aggregator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            producers.add(executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    aggregator.record(event(i % 2 == 0 ? "bread" : "milk", 100, (i % 5) * MINUTE));
+                }
+            }));
+        }
+        for (Future<?> producer : producers) {
+            producer.get();
+        }
+        executor.shutdown();
+
+        SalesWindowAggregator.WindowTotal bread = aggregator.sliding("bread", 4 * MINUTE, Duration.ofMinutes(5));
+        assertEquals(20_000, bread.count());
+        assertEquals(0, BigDecimal.valueOf(2_000_000).compareTo(bread.amount()));
+        assertEquals(0, aggregator.droppedEvents());
+    }
+}
@@ -0,0 +1,130 @@
+package practice;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SketchesTest {
+
+    @Test
+    void 서로_다른_이름_수를_오차_범위_안에서_추정() {
+        int distinct = 300_000;
+        HyperLogLog hll = IntStream.range(0, distinct * 3).parallel()
+                .mapToObj(i -> new Employee("name-" + (i % distinct), "sales", 30))
+                .collect(Sketches.distinctNames(HyperLogLog.DEFAULT_PRECISION));
+
+        double error = Math.abs(hll.estimate() - distinct) / (double) distinct;
+        System.out.println("estimate = " + hll.estimate() + ", error = " + error);
+        assertTrue(error < 4 * hll.standardError(), "error " + error);
+    }
+
+    @Test
+    void 적은_개수는_거의_정확하다() {
+        List<PurchaseItem> items = List.of(
+                new PurchaseItem("cookie", BigDecimal.valueOf(1500)),
+                new PurchaseItem("serial", BigDecimal.valueOf(2500)),
+                new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+                new PurchaseItem("bread", BigDecimal.valueOf(4500)),
+                new PurchaseItem("milk", BigDecimal.valueOf(1200)),
+                new PurchaseItem("cookie", BigDecimal.valueOf(1500)));
+
+        assertEquals(4, items.stream().collect(Sketches.distinctItems(HyperLogLog.DEFAULT_PRECISION)).estimate());
+    }
+
+    @Test
+    void 추정식이_바뀌던_구간에서도_치우치지_않는다() {
+        // precision 14 에서 2.5 * 2^14 (약 41k) 근처. 평균의 표준 오차는 standardError / sqrt(trials)
+        int trials = 20;
+        double bound = 3 * new HyperLogLog().standardError() / Math.sqrt(trials);
+        for (int distinct : new int[]{40_000, 45_000, 50_000}) {
+            double bias = 0;
+            for (int trial = 0; trial < trials; trial++) {
+                HyperLogLog hll = new HyperLogLog();
+                for (int i = 0; i < distinct; i++) {
+                    hll.add(trial + "-" + i);
+                }
+                bias += (hll.estimate() - distinct) / (double) distinct / trials;
+            }
+            assertTrue(Math.abs(bias) < bound, distinct + ": bias " + bias);
+        }
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void 샤드별_결과를_직렬화해서_합치기() {
+        HyperLogLog shardA = new HyperLogLog(12);
+        HyperLogLog shardB = new HyperLogLog(12);
+        HyperLogLog whole = new HyperLogLog(12);
+        for (int i = 0; i < 50_000; i++) {
+            String item = "item-" + i;
+            (i % 2 == 0 ? shardA : shardB).add(item);
+            whole.add(item);
+        }
+
+        byte[] bytes = shardA.toBytes();
+        assertEquals(2 + 4096 * 6 / 8, bytes.length);
+
+        HyperLogLog merged = HyperLogLog.fromBytes(bytes).merge(HyperLogLog.fromBytes(shardB.toBytes()));
+        assertEquals(whole.estimate(), merged.estimate());
+        assertArrayEquals(whole.toBytes(), merged.toBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{1, 12, 0}));
+    }
+
+    @Test
+    void 블룸_필터는_거짓_음성이_없고_거짓_양성률을_지킨다() {
+        int inserted = 100_000;
+        BloomFilter filter = IntStream.range(0, inserted).parallel()
+                .mapToObj(i -> new PurchaseItem("item-" + i, BigDecimal.ONE))
+                .collect(Sketches.itemFilter(inserted, 0.01));
+
+        for (int i = 0; i < inserted; i++) {
+            assertTrue(filter.mightContain("item-" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < inserted; i++) {
+            if (filter.mightContain("other-" + i)) falsePositives++;
+        }
+        double rate = falsePositives / (double) inserted;
+        System.out.println("false positive rate = " + rate + ", expected = " + filter.expectedFalsePositiveRate());
+        assertTrue(rate < 0.015, "false positive rate " + rate);
+    }
+
+    @Test
+    void 블룸_필터_직렬화와_병합() {
+        List<Employee> employees = List.of(
+                new Employee("jack", "sales", 30),
+                new Employee("sam", "sales", 41),
+                new Employee("dean", "development", 28));
+        BloomFilter left = employees.subList(0, 2).stream().collect(Sketches.nameFilter(1000, 0.01));
+        BloomFilter right = employees.subList(2, 3).stream().collect(Sketches.nameFilter(1000, 0.01));
+
+        BloomFilter merged = BloomFilter.fromBytes(left.toBytes()).merge(right);
+        assertTrue(merged.mightContain("jack"));
+        assertTrue(merged.mightContain("dean"));
+
+        assertThrows(IllegalArgumentException.class, () -> left.merge(BloomFilter.create(10, 0.1)));
+    }
+
+    @Test
+    void 해시가_255개를_넘어도_직렬화하면_그대로다() {
+        BloomFilter strict = BloomFilter.create(10, 1e-90);
+        strict.put("jack");
+        assertTrue(strict.hashCount() > 255);
+
+        BloomFilter restored = BloomFilter.fromBytes(strict.toBytes());
+        assertEquals(strict.hashCount(), restored.hashCount());
+        assertEquals(strict.bitSize(), restored.bitSize());
+        assertTrue(restored.mightContain("jack"));
+        restored.merge(strict);
+    }
+}